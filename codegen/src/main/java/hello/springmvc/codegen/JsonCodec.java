@@ -0,0 +1,25 @@
+package hello.springmvc.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컴파일할 때 이 DTO 전용 Jackson 직렬화 / 역직렬화 코드를 만든다. ({@link JsonCodecProcessor})<br>
+ * HelloData 에 붙이면 같은 패키지에 HelloDataJsonCodec(@JsonComponent) 이 생성되고,
+ * 스프링 부트 ObjectMapper(MappingJackson2HttpMessageConverter)가 리플렉션 기반 BeanSerializer / BeanDeserializer 대신 사용한다.<br>
+ * <p>
+ * 조건<br>
+ * - 기본 생성자, 필드마다 getter(getX, boolean 은 isX) / setter(setX) (롬복 @Data, @NoArgsConstructor 로 충분)<br>
+ * - 필드 타입: String, int, long, boolean, double 과 박싱 타입<br>
+ * - Jackson 애노테이션(@JsonProperty, @JsonIgnore ...)은 쓸 수 없다. (컴파일 오류)<br>
+ * - JSON 필드 이름 = 필드 이름, 순서 = 필드 선언 순서, null 도 쓴다. (ObjectMapper 기본값과 같음)<br>
+ * spring.jackson.property-naming-strategy, default-property-inclusion 설정은 생성된 코드에 적용되지 않는다.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonCodec {
+}
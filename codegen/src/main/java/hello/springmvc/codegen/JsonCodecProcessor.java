@@ -0,0 +1,338 @@
+package hello.springmvc.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonCodec} DTO 마다 XxxJsonCodec 클래스를 생성한다.<br>
+ * <p>
+ * 생성 결과 (HelloData 예)<br>
+ * {@code @JsonComponent public class HelloDataJsonCodec}<br>
+ * - Serializer: 필드 순서대로 writeFieldName(미리 인코딩한 이름) + writeString / writeNumber<br>
+ * - Deserializer: 필드 이름 switch + setter, 값 변환 / 오류 / 알 수 없는 필드 처리는 StdDeserializer 의
+ * _parseIntPrimitive, _parseString, handleUnknownProperty 를 그대로 써서 BeanDeserializer 와 같다.<br>
+ * 필드 값을 읽다가 난 예외는 BeanDeserializer(wrapAndThrow)처럼 필드 경로를 붙인 JsonMappingException 으로 감싼다.<br>
+ * <p>
+ * 필드 목록만 읽으므로(getter / setter 는 이름 규칙) 롬복이 메서드를 만들기 전에 실행되어도 된다.<br>
+ * <p>
+ * 생성 코드가 BeanSerializer / BeanDeserializer 와 다르게 동작할 수 있는 클래스는 컴파일 오류로 막는다.<br>
+ * - Jackson 애노테이션: 클래스(@JsonIgnoreProperties, @JsonInclude, @JsonNaming ...), 필드, 메서드, 생성자, 파라미터 어디든<br>
+ * - Object 가 아닌 상위 클래스 (상속한 필드를 읽지 않는다)<br>
+ * - getter 이름에서 Jackson 이 만드는 프로퍼티 이름이 필드 이름과 다른 경우 (aField -> getAField -> "afield", boolean isX)
+ */
+@SupportedAnnotationTypes("hello.springmvc.codegen.JsonCodec")
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    private static final String JACKSON_ANNOTATION_PACKAGE = "com.fasterxml.jackson.annotation.";
+    private static final String JACKSON_DATABIND_ANNOTATION_PACKAGE = "com.fasterxml.jackson.databind.annotation.";
+    private static final String JACKSON_ANNOTATIONS_INSIDE = JACKSON_ANNOTATION_PACKAGE + "JacksonAnnotationsInside";
+
+    /**
+     * 필드 타입 -> (JSON 쓰기, 읽기) 코드
+     */
+    private static final Map<String, FieldCodec> CODECS = Map.of(
+            "java.lang.String", new FieldCodec("gen.writeString(%s);",
+                    "t == JsonToken.VALUE_STRING ? p.getText() : t == JsonToken.VALUE_NULL ? null : _parseString(p, ctxt)"),
+            "int", new FieldCodec("gen.writeNumber(%s);",
+                    "t == JsonToken.VALUE_NUMBER_INT ? p.getIntValue() : _parseIntPrimitive(p, ctxt)"),
+            "long", new FieldCodec("gen.writeNumber(%s);",
+                    "t == JsonToken.VALUE_NUMBER_INT ? p.getLongValue() : _parseLongPrimitive(p, ctxt)"),
+            "boolean", new FieldCodec("gen.writeBoolean(%s);",
+                    "t == JsonToken.VALUE_TRUE || (t != JsonToken.VALUE_FALSE && _parseBooleanPrimitive(p, ctxt))"),
+            "double", new FieldCodec("gen.writeNumber(%s);",
+                    "t == JsonToken.VALUE_NUMBER_FLOAT ? p.getDoubleValue() : _parseDoublePrimitive(p, ctxt)"),
+            "java.lang.Integer", FieldCodec.boxed("gen.writeNumber(%s.intValue());", "Integer"),
+            "java.lang.Long", FieldCodec.boxed("gen.writeNumber(%s.longValue());", "Long"),
+            "java.lang.Boolean", FieldCodec.boxed("gen.writeBoolean(%s.booleanValue());", "Boolean"),
+            "java.lang.Double", FieldCodec.boxed("gen.writeNumber(%s.doubleValue());", "Double")
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS
+                        || element.getModifiers().contains(Modifier.ABSTRACT)
+                        || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                    error(element, "@JsonCodec requires a top-level, non-abstract class");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) {
+        if (hasJacksonAnnotation(type)) {
+            return;
+        }
+        for (Element member : type.getEnclosedElements()) {
+            if (hasJacksonAnnotation(member)) {
+                return;
+            }
+            if (member instanceof ExecutableElement executable) {
+                for (VariableElement parameter : executable.getParameters()) {
+                    if (hasJacksonAnnotation(parameter)) {
+                        return;
+                    }
+                }
+            }
+        }
+        TypeMirror superclass = type.getSuperclass();
+        if (!"java.lang.Object".equals(superclass.toString())) {
+            error(type, "@JsonCodec classes must not extend another class (inherited fields are not serialized): " + superclass);
+            return;
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            TypeMirror fieldType = field.asType();
+            FieldCodec codec = CODECS.get(fieldType.toString());
+            if (codec == null) {
+                error(field, "unsupported @JsonCodec field type: " + fieldType + " (supported: " + CODECS.keySet() + ")");
+                return;
+            }
+            Field generated = new Field(field.getSimpleName().toString(), fieldType.toString(), codec);
+            if (generated.isPrefixedBoolean() || !generated.name.equals(generated.jacksonName())) {
+                error(field, "@JsonCodec field name does not match the Jackson property name of its getter: "
+                        + generated.name + " -> " + generated.getter() + "() -> \"" + generated.jacksonName() + "\"");
+                return;
+            }
+            fields.add(generated);
+        }
+
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String codecName = typeName + "JsonCodec";
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? codecName : packageName + "." + codecName, type)
+                .openWriter()) {
+            writer.write(source(packageName, typeName, codecName, fields));
+        } catch (IOException e) {
+            error(type, "failed to generate " + codecName + ": " + e.getMessage());
+        }
+    }
+
+    private static String source(String packageName, String typeName, String codecName, List<Field> fields) {
+        StringBuilder s = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            s.append("package ").append(packageName).append(";\n\n");
+        }
+        s.append("import com.fasterxml.jackson.core.JacksonException;\n")
+                .append("import com.fasterxml.jackson.core.JsonGenerator;\n")
+                .append("import com.fasterxml.jackson.core.JsonParser;\n")
+                .append("import com.fasterxml.jackson.core.JsonToken;\n")
+                .append("import com.fasterxml.jackson.core.io.SerializedString;\n")
+                .append("import com.fasterxml.jackson.databind.DeserializationContext;\n")
+                .append("import com.fasterxml.jackson.databind.DeserializationFeature;\n")
+                .append("import com.fasterxml.jackson.databind.JsonMappingException;\n")
+                .append("import com.fasterxml.jackson.databind.SerializerProvider;\n")
+                .append("import com.fasterxml.jackson.databind.deser.std.StdDeserializer;\n")
+                .append("import com.fasterxml.jackson.databind.ser.std.StdSerializer;\n")
+                .append("import org.springframework.boot.jackson.JsonComponent;\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.io.IOException;\n\n");
+
+        s.append("/**\n * {@link ").append(typeName).append("} JSON 직렬화 / 역직렬화 (@JsonCodec 으로 생성, 수정하지 말 것)\n */\n")
+                .append("@Generated(\"").append(JsonCodecProcessor.class.getName()).append("\")\n")
+                .append("@JsonComponent\n")
+                .append("public class ").append(codecName).append(" {\n\n");
+        for (Field field : fields) {
+            s.append("    private static final SerializedString ").append(field.constant())
+                    .append(" = new SerializedString(\"").append(field.name).append("\");\n");
+        }
+
+        s.append("\n    public static class Serializer extends StdSerializer<").append(typeName).append("> {\n\n")
+                .append("        public Serializer() {\n")
+                .append("            super(").append(typeName).append(".class);\n")
+                .append("        }\n\n")
+                .append("        @Override\n")
+                .append("        public void serialize(").append(typeName).append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n")
+                .append("            gen.writeStartObject(value);\n");
+        for (Field field : fields) {
+            s.append("            gen.writeFieldName(").append(field.constant()).append(");\n");
+            String getter = "value." + field.getter() + "()";
+            if (field.codec.boxed) {
+                s.append("            if (").append(getter).append(" == null) {\n")
+                        .append("                gen.writeNull();\n")
+                        .append("            } else {\n")
+                        .append("                ").append(String.format(field.codec.write, getter)).append("\n")
+                        .append("            }\n");
+            } else {
+                s.append("            ").append(String.format(field.codec.write, getter)).append("\n");
+            }
+        }
+        s.append("            gen.writeEndObject();\n")
+                .append("        }\n")
+                .append("    }\n");
+
+        s.append("\n    public static class Deserializer extends StdDeserializer<").append(typeName).append("> {\n\n")
+                .append("        public Deserializer() {\n")
+                .append("            super(").append(typeName).append(".class);\n")
+                .append("        }\n\n")
+                .append("        @Override\n")
+                .append("        public ").append(typeName).append(" deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n")
+                .append("            JsonToken t = p.currentToken();\n")
+                .append("            if (t == JsonToken.START_OBJECT) {\n")
+                .append("                t = p.nextToken();\n")
+                .append("            } else if (t != JsonToken.FIELD_NAME && t != JsonToken.END_OBJECT) {\n")
+                .append("                return (").append(typeName).append(") ctxt.handleUnexpectedToken(").append(typeName).append(".class, p);\n")
+                .append("            }\n")
+                .append("            ").append(typeName).append(" value = new ").append(typeName).append("();\n")
+                .append("            for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {\n")
+                .append("                String name = p.currentName();\n")
+                .append("                t = p.nextToken();\n")
+                .append("                switch (name) {\n");
+        for (Field field : fields) {
+            s.append("                    case \"").append(field.name).append("\":\n")
+                    .append("                        try {\n")
+                    .append("                            value.").append(field.setter()).append("(").append(field.codec.read).append(");\n")
+                    .append("                        } catch (Exception e) {\n")
+                    .append("                            throw wrap(e, value, name, ctxt);\n")
+                    .append("                        }\n")
+                    .append("                        break;\n");
+        }
+        s.append("                    default:\n")
+                .append("                        handleUnknownProperty(p, ctxt, value, name);\n")
+                .append("                }\n")
+                .append("            }\n")
+                .append("            return value;\n")
+                .append("        }\n\n")
+                .append("        /**\n")
+                .append("         * BeanDeserializerBase.wrapAndThrow 와 같다.\n")
+                .append("         */\n")
+                .append("        private static JsonMappingException wrap(Exception e, Object bean, String name, DeserializationContext ctxt) throws IOException {\n")
+                .append("            boolean wrap = ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);\n")
+                .append("            if (e instanceof IOException io && (!wrap || !(e instanceof JacksonException))) {\n")
+                .append("                throw io;\n")
+                .append("            }\n")
+                .append("            if (!wrap && e instanceof RuntimeException re) {\n")
+                .append("                throw re;\n")
+                .append("            }\n")
+                .append("            return JsonMappingException.wrapWithPath(e, bean, name);\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        return s.toString();
+    }
+
+    /**
+     * com.fasterxml.jackson.annotation / databind.annotation 애노테이션, 또는 @JacksonAnnotationsInside 로 묶은 애노테이션이 있으면 오류를 남긴다.
+     */
+    private boolean hasJacksonAnnotation(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (isJacksonAnnotation(mirror)) {
+                error(element, "Jackson annotations are not supported on @JsonCodec classes: " + mirror);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJacksonAnnotation(AnnotationMirror mirror) {
+        String name = mirror.getAnnotationType().toString();
+        if (name.startsWith(JACKSON_ANNOTATION_PACKAGE) || name.startsWith(JACKSON_DATABIND_ANNOTATION_PACKAGE)) {
+            return true;
+        }
+        for (AnnotationMirror meta : mirror.getAnnotationType().asElement().getAnnotationMirrors()) {
+            if (JACKSON_ANNOTATIONS_INSIDE.equals(meta.getAnnotationType().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private record FieldCodec(String write, String read, boolean boxed) {
+
+        FieldCodec(String write, String read) {
+            this(write, read, false);
+        }
+
+        /**
+         * null 이면 null, 아니면 Jackson 기본 역직렬화기(NumberDeserializers)로 읽는다. ("" -> null 같은 변환이 같음)
+         */
+        static FieldCodec boxed(String write, String simpleName) {
+            return new FieldCodec(write, "t == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, " + simpleName + ".class)", true);
+        }
+    }
+
+    private record Field(String name, String type, FieldCodec codec) {
+
+        String constant() {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+        }
+
+        String getter() {
+            return ("boolean".equals(type) ? "is" : "get") + capitalize();
+        }
+
+        String setter() {
+            return "set" + capitalize();
+        }
+
+        /**
+         * 롬복은 boolean isX 필드에 isX() / setX() 를 만들어서 생성 코드의 isIsX() / setIsX() 와 맞지 않는다.
+         */
+        boolean isPrefixedBoolean() {
+            return "boolean".equals(type) && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+        }
+
+        /**
+         * getter 이름에서 Jackson(기본 설정, BeanUtil.legacyManglePropertyName)이 만드는 프로퍼티 이름<br>
+         * 접두사(get / is)를 떼고 앞쪽 대문자를 이어지는 동안 모두 소문자로 바꾼다. getAField -> "afield", getURL -> "url"
+         */
+        String jacksonName() {
+            String getter = getter();
+            String base = getter.substring(getter.startsWith("is") ? 2 : 3);
+            StringBuilder name = new StringBuilder(base.length());
+            int i = 0;
+            for (; i < base.length(); i++) {
+                char c = base.charAt(i);
+                char lower = Character.toLowerCase(c);
+                if (c == lower) {
+                    break;
+                }
+                name.append(lower);
+            }
+            return name.append(base, i, base.length()).toString();
+        }
+
+        private String capitalize() {
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hello.springmvc.basic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HelloData} JSON 직렬화 / 역직렬화: 리플렉션(BeanSerializer / BeanDeserializer) vs 생성된 {@link HelloDataJsonCodec}<br>
+ * 두 ObjectMapper 모두 재사용하므로 비교 대상은 값 읽기 / 쓰기 경로뿐이다.<br>
+ * gc 프로파일러: gc.alloc.rate.norm(B/op)<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=HelloDataJsonCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelloDataJsonCodecBenchmark {
+
+    private final ObjectMapper reflection = new ObjectMapper();
+    private final ObjectMapper generated = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(HelloData.class, new HelloDataJsonCodec.Serializer())
+            .addDeserializer(HelloData.class, new HelloDataJsonCodec.Deserializer()));
+
+    private HelloData helloData;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        helloData = HelloData.builder().username("userA").age(15).build();
+        json = reflection.writeValueAsBytes(helloData);
+    }
+
+    @Benchmark
+    public byte[] writeReflection() throws Exception {
+        return reflection.writeValueAsBytes(helloData);
+    }
+
+    @Benchmark
+    public byte[] writeGenerated() throws Exception {
+        return generated.writeValueAsBytes(helloData);
+    }
+
+    @Benchmark
+    public HelloData readReflection() throws Exception {
+        return reflection.readValue(json, HelloData.class);
+    }
+
+    @Benchmark
+    public HelloData readGenerated() throws Exception {
+        return generated.readValue(json, HelloData.class);
+    }
+}
@@ -0,0 +1,101 @@
+package hello.springmvc.basic.converter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.response.HttpMessageConverterController;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * HelloData JSON vs application/x-hello-data ({@link HelloDataBinaryCodec}) 비교<br>
+ * <p>
+ * codec* : 직렬화 + 역직렬화만 (ObjectMapper vs HelloDataBinaryCodec)<br>
+ * request* : /http-message-converter-json-list 요청 1건 (메시지 컨버터 읽기 + 쓰기 포함, MockMvc)<br>
+ * <p>
+ * AverageTime: 요청 1건당 CPU 시간(us, 단일 스레드), gc 프로파일러: gc.alloc.rate.norm(B/op)<br>
+ * 바디 크기(wire size)는 setup 에서 출력한다.<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=HelloDataConverterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelloDataConverterBenchmark {
+
+    private static final TypeReference<List<HelloData>> HELLO_DATA_LIST = new TypeReference<>() {
+    };
+
+    /**
+     * 리스트 원소 수
+     */
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mvc;
+    private List<HelloData> helloDataList;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.standaloneSetup(new HttpMessageConverterController(List.of()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        new HelloDataBinaryHttpMessageConverter())
+                .build();
+        helloDataList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            helloDataList.add(HelloData.builder().username("user" + i).age(i % 100).build());
+        }
+        json = objectMapper.writeValueAsBytes(helloDataList);
+        binary = HelloDataBinaryCodec.encodeList(helloDataList);
+        System.out.printf("%nwire size(size=%d): json=%d bytes, binary=%d bytes (%.1f%%)%n",
+                size, json.length, binary.length, 100.0 * binary.length / json.length);
+    }
+
+    @Benchmark
+    public void codecJson(Blackhole bh) throws Exception {
+        bh.consume(objectMapper.writeValueAsBytes(helloDataList));
+        bh.consume(objectMapper.readValue(json, HELLO_DATA_LIST));
+    }
+
+    @Benchmark
+    public void codecBinary(Blackhole bh) throws Exception {
+        bh.consume(HelloDataBinaryCodec.encodeList(helloDataList));
+        bh.consume(HelloDataBinaryCodec.decodeList(new ByteArrayInputStream(binary)));
+    }
+
+    @Benchmark
+    public void requestJson(Blackhole bh) throws Exception {
+        bh.consume(perform(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Benchmark
+    public void requestBinary(Blackhole bh) throws Exception {
+        bh.consume(perform(binary, HelloDataBinaryHttpMessageConverter.APPLICATION_HELLO_DATA));
+    }
+
+    private byte[] perform(byte[] content, MediaType mediaType) throws Exception {
+        return mvc.perform(post("/http-message-converter-json-list")
+                        .content(content)
+                        .contentType(mediaType)
+                        .accept(mediaType))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.support.ConfigurableWebBindingInitializer;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @ModelAttribute HelloData} 바인딩 비용 비교 (hello-form.html 과 같은 username, age 파라미터)<br>
+ * <p>
+ * springBinder : ServletModelAttributeMethodProcessor (WebDataBinder + BeanWrapper + 변환 서비스)<br>
+ * helloDataResolver : {@link HelloDataArgumentResolver} (파라미터 맵에서 바로 읽기)<br>
+ * <p>
+ * Throughput: ops/us, gc 프로파일러: gc.alloc.rate.norm(B/op)<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=HelloDataArgumentResolverBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelloDataArgumentResolverBenchmark {
+
+    private MethodParameter parameter;
+    private ServletModelAttributeMethodProcessor springBinder;
+    private HelloDataArgumentResolver helloDataResolver;
+    private WebDataBinderFactory binderFactory;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        parameter = new MethodParameter(RequestParamController.class.getMethod("modelAttributeV1", HelloData.class), 0);
+        springBinder = new ServletModelAttributeMethodProcessor(false);
+        helloDataResolver = new HelloDataArgumentResolver(springBinder, false);
+        ConfigurableWebBindingInitializer initializer = new ConfigurableWebBindingInitializer();
+        initializer.setConversionService(new DefaultFormattingConversionService());
+        binderFactory = new ServletRequestDataBinderFactory(null, initializer);
+
+        request = new MockHttpServletRequest("POST", "/model-attribute-v1");
+        request.addParameter("username", "userA");
+        request.addParameter("age", "15");
+        if (!helloDataResolver.supportsParameter(parameter)) {
+            throw new IllegalStateException("HelloDataArgumentResolver does not support " + parameter);
+        }
+    }
+
+    @Benchmark
+    public Object springBinder() throws Exception {
+        return springBinder.resolveArgument(parameter, new ModelAndViewContainer(), new ServletWebRequest(request), binderFactory);
+    }
+
+    @Benchmark
+    public Object helloDataResolver() throws Exception {
+        return helloDataResolver.resolveArgument(parameter, new ModelAndViewContainer(), new ServletWebRequest(request), binderFactory);
+    }
+}
@@ -0,0 +1,117 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * {@link RequestBodyJsonController} 의 JSON 수신 방식별 비용 비교<br>
+ * <p>
+ * v1 : HttpServletRequest + StreamUtils.copyToString + 컨트롤러 ObjectMapper<br>
+ * v11 : v1 의 스트리밍 방식 (String 복사 없이 ServletInputStream 에서 바로 파싱)<br>
+ * v2 : @RequestBody String + 컨트롤러 ObjectMapper<br>
+ * v21 : v2 의 스트리밍 방식 (InputStream 에서 바로 파싱)<br>
+ * v3, v5 : @RequestBody HelloData (MappingJackson2HttpMessageConverter)<br>
+ * v4, v41 : HttpEntity, RequestEntity<br>
+ * <p>
+ * Throughput: ops/us, SampleTime: p0.50 ~ p0.9999 latency(us), gc 프로파일러: gc.alloc.rate.norm(B/op)<br>
+ * 로그 출력 비용이 섞이지 않도록 src/jmh/resources/logback.xml 에서 로그 레벨을 WARN 으로 둔다.<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=RequestBodyJsonControllerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestBodyJsonControllerBenchmark {
+
+    /**
+     * small: username 5 bytes, medium: 1KB, large: 1MB
+     */
+    @Param({"small", "medium", "large"})
+    private String payload;
+
+    private MockMvc mvc;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws Exception {
+        mvc = MockMvcBuilders.standaloneSetup(new RequestBodyJsonController()).build();
+        HelloData helloData = HelloData.builder()
+                .username(username(payload))
+                .age(15)
+                .build();
+        content = new ObjectMapper().writeValueAsBytes(helloData);
+    }
+
+    private static String username(String payload) {
+        switch (payload) {
+            case "small":
+                return "userA";
+            case "medium":
+                return "u".repeat(1024);
+            case "large":
+                return "u".repeat(1024 * 1024);
+            default:
+                throw new IllegalArgumentException("payload=" + payload);
+        }
+    }
+
+    @Benchmark
+    public void requestBodyJsonV1(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v1"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV11(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v11"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV2(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v2"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV21(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v21"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV3(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v3"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV4(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v4"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV41(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v41"));
+    }
+
+    @Benchmark
+    public void requestBodyJsonV5(Blackhole bh) throws Exception {
+        bh.consume(perform("/request-body-json-v5"));
+    }
+
+    private byte[] perform(String url) throws Exception {
+        MvcResult result = mvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+}
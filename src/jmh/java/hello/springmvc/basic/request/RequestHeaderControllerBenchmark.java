@@ -0,0 +1,68 @@
+package hello.springmvc.basic.request;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link RequestHeaderController} 헤더 조회 방식별 비용 비교 (헤더가 많은 요청)<br>
+ * <p>
+ * v1 : @RequestHeader MultiValueMap + 로그 + HashMap 결과<br>
+ * v2 : {@link RequestHeaderView} (Map 복사 없이 JsonGenerator 에 바로 쓰기)<br>
+ * <p>
+ * Throughput: ops/us, gc 프로파일러: gc.alloc.rate.norm(B/op)<br>
+ * MockMvc 요청 생성 / 응답 버퍼 비용은 v1, v2 에 똑같이 들어간다. 차이만 본다.<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=RequestHeaderControllerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestHeaderControllerBenchmark {
+
+    /**
+     * 기본 헤더(Host, Accept, Accept-Language, Cookie) 외에 추가하는 X-Custom-n 헤더 수
+     */
+    @Param({"10", "50"})
+    private int headers;
+
+    private MockMvc mvc;
+
+    @Setup
+    public void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new RequestHeaderController()).build();
+    }
+
+    @Benchmark
+    public void headersV1(Blackhole bh) throws Exception {
+        bh.consume(perform("/headers"));
+    }
+
+    @Benchmark
+    public void headersV2(Blackhole bh) throws Exception {
+        bh.consume(perform("/headers-v2"));
+    }
+
+    private byte[] perform(String url) throws Exception {
+        MockHttpServletRequestBuilder builder = get(url)
+                .header("host", "localhost:8080")
+                .accept(MediaType.APPLICATION_JSON)
+                .locale(Locale.KOREAN)
+                .cookie(new Cookie("myCookie", "myCookie"));
+        for (int i = 0; i < headers; i++) {
+            builder.header("X-Custom-" + i, "value-" + i);
+        }
+        return mvc.perform(builder).andReturn().getResponse().getContentAsByteArray();
+    }
+}
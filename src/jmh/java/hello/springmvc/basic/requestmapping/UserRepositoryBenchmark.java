@@ -0,0 +1,63 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserRepository} 읽기/쓰기 혼합 처리량<br>
+ * 그룹 "mixed" = 조회 6 : 수정 1 : 목록 1 스레드, 회원 10,000 명 기준<br>
+ * 코어 수에 따른 변화는 그룹 수를 늘려서 본다. (-t 는 그룹 크기 8 의 배수로 올림)<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=UserRepositoryBenchmark -PjmhThreads=8 (8, 16, 32 ...)
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private UserRepository userRepository;
+    private String[] userIds;
+
+    @Setup
+    public void setUp() {
+        userRepository = new UserRepository();
+        userIds = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = "user" + i;
+            userRepository.add(HelloData.builder().username(userIds[i]).age(i).build());
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public void find(Blackhole bh) {
+        bh.consume(userRepository.findById(randomUserId()));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void update(Blackhole bh) {
+        bh.consume(userRepository.update(randomUserId(), ThreadLocalRandom.current().nextInt(100)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void list(Blackhole bh) {
+        bh.consume(userRepository.findAll());
+    }
+
+    private String randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+}
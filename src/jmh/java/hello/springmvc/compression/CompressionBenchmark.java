@@ -0,0 +1,101 @@
+package hello.springmvc.compression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * HelloData JSON 응답 gzip 압축 비용(CPU)과 크기(대역폭)<br>
+ * <p>
+ * payload - single: {"username":"userA","age":15} (29 bytes, min-response-size 보다 작아서 실제로는 압축 안 함)<br>
+ * payload - medium: username 1KB, large: username 1MB, list100: HelloData 100개 목록<br>
+ * level - 1(빠름), 6(기본), 9(작음)<br>
+ * <p>
+ * AverageTime: 응답 1건 압축 CPU 시간(us), 압축 전/후 크기는 setup 에서 출력한다.<br>
+ * 대역폭 절감 / CPU 시간 으로 level 과 min-response-size 를 정한다.<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=CompressionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"single", "medium", "large", "list100"})
+    private String payload;
+
+    @Param({"1", "6", "9"})
+    private int level;
+
+    private DeflaterPool deflaterPool;
+    private byte[] json;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws Exception {
+        deflaterPool = new DeflaterPool(level, 16);
+        json = new ObjectMapper().writeValueAsBytes(payload(payload));
+        out = new ByteArrayOutputStream(json.length + 64);
+        int compressed = gzip().length;
+        System.out.printf("%n%s level=%d: json=%d bytes, gzip=%d bytes (%.1f%%)%n",
+                payload, level, json.length, compressed, 100.0 * compressed / json.length);
+    }
+
+    private static Object payload(String payload) {
+        switch (payload) {
+            case "single":
+                return HelloData.builder().username("userA").age(15).build();
+            case "medium":
+                return HelloData.builder().username("u".repeat(1024)).age(15).build();
+            case "large":
+                return HelloData.builder().username("u".repeat(1024 * 1024)).age(15).build();
+            case "list100":
+                List<HelloData> helloDataList = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    helloDataList.add(HelloData.builder().username("user" + i).age(i).build());
+                }
+                return helloDataList;
+            default:
+                throw new IllegalArgumentException("payload=" + payload);
+        }
+    }
+
+    @Benchmark
+    public byte[] gzip() throws Exception {
+        out.reset();
+        Deflater deflater = deflaterPool.acquire();
+        try {
+            PooledGzipOutputStream gzip = new PooledGzipOutputStream(out, deflater);
+            gzip.write(json, 0, json.length);
+            gzip.finish();
+        } finally {
+            deflaterPool.release(deflater);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 풀 없이 응답마다 Deflater 를 만들고 버리는 경우 (java.util.zip.GZIPOutputStream 과 같은 방식)
+     */
+    @Benchmark
+    public byte[] gzipWithoutPool() throws Exception {
+        out.reset();
+        Deflater deflater = new Deflater(level, true);
+        try {
+            PooledGzipOutputStream gzip = new PooledGzipOutputStream(out, deflater);
+            gzip.write(json, 0, json.length);
+            gzip.finish();
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,33 @@
+package hello.springmvc.metrics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LatencyHistogram#record(long)} 기록 비용<br>
+ * 목표: 1건당 1us 보다 훨씬 작고, gc.alloc.rate.norm = 0 B/op<br>
+ * 스레드 수를 늘려서 stripe 경합을 본다.<br>
+ * 실행: ./gradlew jmh -PjmhIncludes=LatencyHistogramBenchmark -PjmhThreads=8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Benchmark
+    public void record() {
+        histogram.record(ThreadLocalRandom.current().nextInt(100_000));
+    }
+
+    @Benchmark
+    public long snapshot() {
+        return histogram.snapshot().getValueAtPercentile(99);
+    }
+}
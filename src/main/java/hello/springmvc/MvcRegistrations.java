@@ -0,0 +1,38 @@
+package hello.springmvc;
+
+import hello.springmvc.basic.request.HelloDataHandlerAdapter;
+import hello.springmvc.basic.requestmapping.LiteralPathHandlerMapping;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * 스프링 MVC 기본 구성 요소 교체<br>
+ * {@link RequestMappingHandlerMapping} -> {@link LiteralPathHandlerMapping} (고정 경로 빠른 매핑)<br>
+ * {@link RequestMappingHandlerAdapter} -> {@link HelloDataHandlerAdapter} (HelloData 바인딩, hello.binding.hello-data-resolver.enabled)<br>
+ * 나머지 설정(인터셉터, 경로 매칭 옵션 ...)은 스프링 부트가 그대로 적용한다.
+ */
+@Component
+public class MvcRegistrations implements WebMvcRegistrations {
+
+    private final boolean helloDataResolver;
+
+    public MvcRegistrations(@Value("${hello.binding.hello-data-resolver.enabled:true}") boolean helloDataResolver) {
+        this.helloDataResolver = helloDataResolver;
+    }
+
+    @Override
+    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return new LiteralPathHandlerMapping();
+    }
+
+    /**
+     * null 이면 스프링 부트 기본 RequestMappingHandlerAdapter
+     */
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return helloDataResolver ? new HelloDataHandlerAdapter() : null;
+    }
+}
@@ -0,0 +1,60 @@
+package hello.springmvc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 요청 처리 모드 (hello.threads.virtual=true)<br>
+ * 내장 톰캣의 요청 처리 스레드 풀(기본 최대 200개 플랫폼 스레드) 대신, 요청마다 가상 스레드를 하나씩 만든다.<br>
+ * request-body-string-v1/v2 처럼 InputStream 을 읽으며 블로킹되는 요청이 많아도 스레드 풀 크기에 동시 처리 수가 묶이지 않는다.<br>
+ * <p>
+ * 가상 스레드는 Java 21 이상에서만 쓸 수 있다. 소스는 Java 17 로 컴파일하므로 API 는 리플렉션으로 호출한다.<br>
+ * 실행: ./gradlew bootRun -PvirtualThreads (Java 21 toolchain 으로 실행)
+ * <p>
+ * 실행기는 빈으로 등록하지 않는다. Executor 빈이 있으면 스프링 부트가 applicationTaskExecutor(@Async, MVC 비동기 처리)를
+ * 만들지 않고(@ConditionalOnMissingBean(Executor.class)) 이 실행기를 대신 쓰게 된다.<br>
+ * 톰캣은 밖에서 넣어준 실행기를 닫지 않으므로 웹 서버가 멈춘 뒤(컨텍스트 종료) 여기서 닫는다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "hello.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig implements DisposableBean {
+
+    private ExecutorService virtualThreadExecutor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        virtualThreadExecutor = executor;
+        log.info("Tomcat request execution: virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException | InvocationTargetException e) {
+            throw new IllegalStateException("hello.threads.virtual=true 는 Java 21 이상이 필요하다. java.version="
+                    + System.getProperty("java.version"), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
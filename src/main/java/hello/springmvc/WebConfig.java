@@ -0,0 +1,66 @@
+package hello.springmvc;
+
+import hello.springmvc.basic.converter.AsciiBodyHttpMessageConverter;
+import hello.springmvc.basic.converter.HelloDataBinaryHttpMessageConverter;
+import hello.springmvc.cache.ResponseCache;
+import hello.springmvc.metrics.HandlerAllocationRecorder;
+import hello.springmvc.metrics.HandlerLatencyRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 스프링 MVC 설정 (인터셉터, 메시지 컨버터 ...)<br>
+ * 스프링 부트 기본 설정은 그대로 두고 필요한 것만 추가한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final HandlerLatencyRecorder handlerLatencyRecorder;
+    private final HandlerAllocationRecorder handlerAllocationRecorder;
+    private final ResponseCache responseCache;
+
+    /**
+     * 지연 시간, 할당 기록이 가장 먼저 (응답 캐시로 바로 응답하는 요청도 기록)<br>
+     * 할당 기록은 hello.metrics.allocation.enabled=true 일 때만 등록한다.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(handlerLatencyRecorder);
+        if (handlerAllocationRecorder.isEnabled()) {
+            registry.addInterceptor(handlerAllocationRecorder);
+        }
+        registry.addInterceptor(responseCache);
+    }
+
+    /**
+     * HelloData 바이너리 컨버터는 스프링 부트 기본 컨버터 목록 뒤에 추가한다. (*\/* 요청은 기존 컨버터가 그대로 처리)<br>
+     * AsciiBody 컨버터는 맨 앞 (*\/* 요청에 JSON 보다 text/plain 이 먼저 선택되도록, String 반환과 같은 응답)
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new AsciiBodyHttpMessageConverter(StandardCharsets.UTF_8));
+        converters.add(new HelloDataBinaryHttpMessageConverter());
+    }
+
+    /**
+     * spring.web.resources.chain.enabled=true 는 .gz 리소스(compressed)를 쓰려고 켰다.<br>
+     * 스프링 부트는 이때 ResourceUrlEncodingFilter 도 등록하는데, 버전 URL(VersionResourceResolver)을 쓰지 않으므로 할 일이 없고
+     * 모든 요청을 감싸기만 한다. (핸들러가 받는 HttpServletRequest 가 래퍼로 바뀜) 등록하되 꺼 둔다.
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration = new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.setEnabled(false);
+        return registration;
+    }
+}
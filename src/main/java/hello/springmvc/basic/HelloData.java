@@ -1,5 +1,6 @@
 package hello.springmvc.basic;
 
+import hello.springmvc.codegen.JsonCodec;
 import lombok.*;
 
 /**
@@ -10,7 +11,10 @@ import lombok.*;
  * class level 에 {@link Builder}를 {@link NoArgsConstructor}없이 생성시 에러원인
  * : com.fasterxml.jackson.databind.exc.InvalidDefinitionException: Cannot construct instance of `hello.springmvc.basic.HelloData` (no Creators, like default constructor, exist): cannot deserialize from Object value (no delegate- or property-based Creator)
  * : no Creators, like default constructor, exist => 'jackson' library 가 empty constructor 가 없고, 파라미터가 있는 constructor 가 있을 때 어떻게 Json 모델을 생성해야되는지 몰라서 발생하는 문제
+ *
+ * {@link JsonCodec} : 컴파일할 때 HelloDataJsonCodec(JSON 직렬화 / 역직렬화)을 생성한다. 스프링 부트 ObjectMapper 는 리플렉션 대신 생성된 코드를 쓴다.
  */
+@JsonCodec
 @Data
 @NoArgsConstructor
 public class HelloData {
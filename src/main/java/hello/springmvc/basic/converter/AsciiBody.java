@@ -0,0 +1,180 @@
+package hello.springmvc.basic.converter;
+
+import hello.springmvc.basic.io.BufferPool;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * text/plain 응답 본문을 {@link BufferPool} 버퍼에 바이트로 바로 만든다.<br>
+ * "username=" + username + ", age=" + age 처럼 String 을 만들고 컨버터가 다시 UTF-8 로 인코딩하는 대신,
+ * 숫자는 자릿수를, ASCII 문자열은 문자를 그대로 byte 로 쓴다. (ASCII 가 아닌 문자는 UTF-8 로 인코딩)<br>
+ * 길이를 알고 있으므로 Content-Length 도 바로 정해진다.<br>
+ * <p>
+ * 사용 예) 핸들러 반환 타입을 String 에서 AsciiBody 로 바꾸면 응답 내용, Content-Type 은 같다.<br>
+ * {@code return AsciiBody.create().append("username=").append(username).append(", age=").append(age);}<br>
+ * <p>
+ * 버퍼는 {@link AsciiBodyHttpMessageConverter} 가 응답에 쓰고 나서 풀에 돌려준다. 한 번만 쓸 수 있다.<br>
+ * (예외로 응답을 못 쓰면 버퍼는 풀에 돌아가지 않고 GC 가 회수한다)
+ */
+public final class AsciiBody {
+
+    private static final byte[] MIN_INT = "-2147483648".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int length;
+    private boolean ascii = true;
+
+    private AsciiBody() {
+        this.buffer = BufferPool.shared().acquire();
+    }
+
+    public static AsciiBody create() {
+        return new AsciiBody();
+    }
+
+    public static AsciiBody of(@Nullable String value) {
+        return create().append(value);
+    }
+
+    /**
+     * null 이면 "null" (문자열 + 와 같음)
+     */
+    public AsciiBody append(@Nullable String value) {
+        if (value == null) {
+            return append(NULL);
+        }
+        int count = value.length();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return appendUtf8(value.substring(i));
+            }
+            buffer[length++] = (byte) c;
+        }
+        return this;
+    }
+
+    public AsciiBody append(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return append(MIN_INT);
+        }
+        return append((long) value);
+    }
+
+    public AsciiBody append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append(MIN_LONG);
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int end = length + digits(value);
+        for (int i = end - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    /**
+     * null 이면 "null", 박싱된 숫자도 String 을 만들지 않는다.
+     */
+    public AsciiBody append(@Nullable Integer value) {
+        return value == null ? append(NULL) : append(value.intValue());
+    }
+
+    public AsciiBody append(@Nullable Long value) {
+        return value == null ? append(NULL) : append(value.longValue());
+    }
+
+    private AsciiBody appendUtf8(String value) {
+        ascii = false;
+        return append(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private AsciiBody append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+        return this;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (buffer == null) {
+            throw new IllegalStateException("AsciiBody has already been written");
+        }
+        if (length + additional <= buffer.length) {
+            return;
+        }
+        byte[] grown = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        BufferPool.shared().release(buffer);
+        buffer = grown;
+    }
+
+    /**
+     * UTF-8 바이트 수
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * ASCII 문자만 있으면 true (어떤 ASCII 호환 charset 으로도 바이트가 같다)
+     */
+    public boolean isAscii() {
+        return ascii;
+    }
+
+    /**
+     * 이 charset 으로 인코딩해도 바이트가 같으면 true (UTF-8, 또는 ASCII 만 있고 US-ASCII / ISO-8859-1)
+     */
+    boolean isEncodedAs(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || (ascii && (StandardCharsets.US_ASCII.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)));
+    }
+
+    /**
+     * 내용을 charset 으로 쓰고 버퍼를 풀에 돌려준다.
+     */
+    void writeTo(OutputStream out, Charset charset) throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("AsciiBody has already been written");
+        }
+        byte[] bytes = buffer;
+        buffer = null;
+        try {
+            if (isEncodedAs(charset)) {
+                out.write(bytes, 0, length);
+            } else {
+                out.write(new String(bytes, 0, length, StandardCharsets.UTF_8).getBytes(charset));
+            }
+        } finally {
+            BufferPool.shared().release(bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return buffer != null ? new String(buffer, 0, length, StandardCharsets.UTF_8) : "AsciiBody(written)";
+    }
+}
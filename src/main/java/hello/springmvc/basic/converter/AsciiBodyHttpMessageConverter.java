@@ -0,0 +1,61 @@
+package hello.springmvc.basic.converter;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * {@link AsciiBody} 응답 컨버터 (쓰기 전용)<br>
+ * StringHttpMessageConverter 와 같은 미디어 타입(text/plain, *\/*), 같은 기본 charset(UTF-8)이라서
+ * 핸들러가 String 대신 AsciiBody 를 반환해도 Content-Type, Content-Length, 본문이 같다.<br>
+ * <p>
+ * 컨버터 목록 맨 앞에 추가한다. ({@link hello.springmvc.WebConfig#extendMessageConverters(List)})<br>
+ * 뒤에 있으면 Accept: *\/* 일 때 JSON 컨버터의 application/json 이 먼저 선택된다.
+ */
+public class AsciiBodyHttpMessageConverter extends AbstractHttpMessageConverter<AsciiBody> {
+
+    public AsciiBodyHttpMessageConverter(Charset defaultCharset) {
+        super(defaultCharset, MediaType.TEXT_PLAIN, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AsciiBody.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected AsciiBody readInternal(Class<? extends AsciiBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("AsciiBody is write-only", inputMessage);
+    }
+
+    /**
+     * 다른 charset 으로 다시 인코딩해야 하면 길이를 모른다. (Content-Length 생략)
+     */
+    @Override
+    protected Long getContentLength(AsciiBody body, MediaType contentType) {
+        return body.isEncodedAs(charset(contentType)) ? (long) body.length() : null;
+    }
+
+    @Override
+    protected void writeInternal(AsciiBody body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody(), charset(outputMessage.getHeaders().getContentType()));
+    }
+
+    private Charset charset(MediaType contentType) {
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
+        }
+        return getDefaultCharset();
+    }
+}
@@ -0,0 +1,217 @@
+package hello.springmvc.basic.converter;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.io.BufferPool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link HelloData} 바이너리 인코딩 (application/x-hello-data)<br>
+ * 필드 순서가 정해져 있으므로 필드 이름을 쓰지 않고 값만 길이 접두사(varint)와 함께 쓴다.<br>
+ * <p>
+ * HelloData       : [username][age]<br>
+ * username        : varint(UTF-8 바이트 수 + 1) + UTF-8 바이트, null 이면 varint(0)<br>
+ * age             : zigzag varint (음수도 짧게)<br>
+ * List&lt;HelloData&gt; : varint(개수) + HelloData * 개수<br>
+ * <p>
+ * 예) {"username":"userA","age":15} -> JSON 29 bytes, 바이너리 7 bytes (06 75 73 65 72 41 1E)<br>
+ * 잘못된 데이터는 {@link IllegalArgumentException}, 바디가 중간에 끝나면 {@link EOFException}
+ */
+public abstract class HelloDataBinaryCodec {
+
+    /**
+     * username 최대 길이(UTF-8 바이트), 넘으면 바디를 더 읽지 않고 {@link IllegalArgumentException}
+     */
+    public static final int MAX_STRING_BYTES = 1024 * 1024;
+
+    /**
+     * 버퍼보다 긴 username 을 읽을 배열의 처음 크기<br>
+     * 길이 값만 믿고 한 번에 만들지 않고, 실제로 도착한 만큼 두 배씩 늘린다. (몇 바이트짜리 바디로 큰 배열을 만들게 하지 않도록)
+     */
+    private static final int STRING_CHUNK_BYTES = 64 * 1024;
+
+    private static final int INITIAL_LIST_CAPACITY = 1024;
+
+    public static byte[] encode(HelloData helloData) {
+        Writer writer = new Writer(32);
+        writer.writeHelloData(helloData);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encodeList(Collection<HelloData> helloDataList) {
+        Writer writer = new Writer(16 * helloDataList.size() + 8);
+        writer.writeVarint(helloDataList.size());
+        for (HelloData helloData : helloDataList) {
+            writer.writeHelloData(helloData);
+        }
+        return writer.toByteArray();
+    }
+
+    public static HelloData decode(InputStream in) throws IOException {
+        try (Reader reader = new Reader(in)) {
+            HelloData helloData = reader.readHelloData();
+            reader.requireEnd();
+            return helloData;
+        }
+    }
+
+    public static List<HelloData> decodeList(InputStream in) throws IOException {
+        try (Reader reader = new Reader(in)) {
+            int count = reader.readVarint();
+            if (count < 0) {
+                throw new IllegalArgumentException("invalid list size: " + Integer.toUnsignedString(count));
+            }
+            List<HelloData> helloDataList = new ArrayList<>(Math.min(count, INITIAL_LIST_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                helloDataList.add(reader.readHelloData());
+            }
+            reader.requireEnd();
+            return helloDataList;
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialSize) {
+            this.buffer = new byte[initialSize];
+        }
+
+        void writeHelloData(HelloData helloData) {
+            writeString(helloData.getUsername());
+            int age = helloData.getAge();
+            writeVarint((age << 1) ^ (age >> 31));
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int size) {
+            if (position + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+            }
+        }
+    }
+
+    /**
+     * {@link BufferPool} 에서 빌린 버퍼로 읽는다. 버퍼보다 긴 username 만 따로 배열을 만든다. ({@link #STRING_CHUNK_BYTES} 부터 늘림)
+     */
+    private static final class Reader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer;
+        private int position;
+        private int limit;
+
+        Reader(InputStream in) {
+            this.in = in;
+            this.buffer = BufferPool.shared().acquire();
+        }
+
+        HelloData readHelloData() throws IOException {
+            String username = readString();
+            int zigzag = readVarint();
+            return HelloData.builder()
+                    .username(username)
+                    .age((zigzag >>> 1) ^ -(zigzag & 1))
+                    .build();
+        }
+
+        String readString() throws IOException {
+            int header = readVarint();
+            if (header == 0) {
+                return null;
+            }
+            int length = header - 1;
+            if (length < 0 || length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("invalid string length: " + Integer.toUnsignedString(length));
+            }
+            if (limit - position >= length) {
+                String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            int read = limit - position;
+            byte[] bytes = new byte[Math.min(length, Math.max(read, STRING_CHUNK_BYTES))];
+            System.arraycopy(buffer, position, bytes, 0, read);
+            position = limit;
+            while (read < length) {
+                if (read == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                }
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    throw new EOFException("unexpected end of body in username");
+                }
+                read += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int readVarint() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("malformed varint");
+        }
+
+        void requireEnd() throws IOException {
+            if (position < limit || fill()) {
+                throw new IllegalArgumentException("unexpected trailing bytes");
+            }
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit && !fill()) {
+                throw new EOFException("unexpected end of body");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            int read = in.read(buffer, 0, buffer.length);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+
+        @Override
+        public void close() {
+            BufferPool.shared().release(buffer);
+        }
+    }
+}
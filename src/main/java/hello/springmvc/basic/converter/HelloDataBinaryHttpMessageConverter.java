@@ -0,0 +1,103 @@
+package hello.springmvc.basic.converter;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * application/x-hello-data : {@link HelloData}, List&lt;{@link HelloData}&gt; 바이너리 메시지 컨버터<br>
+ * 인코딩 형식은 {@link HelloDataBinaryCodec} 참고<br>
+ * <p>
+ * 기존 컨버터(byte[], String, JSON ...) 뒤에 추가한다. ({@link hello.springmvc.WebConfig#extendMessageConverters(List)})<br>
+ * 요청: Content-Type: application/x-hello-data 일 때 @RequestBody HelloData, List&lt;HelloData&gt;<br>
+ * 응답: Accept: application/x-hello-data 일 때만 선택된다. (Accept 가 *\/* 이면 앞에 있는 JSON 컨버터가 선택됨)
+ */
+public class HelloDataBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_HELLO_DATA_VALUE = "application/x-hello-data";
+    public static final MediaType APPLICATION_HELLO_DATA = MediaType.valueOf(APPLICATION_HELLO_DATA_VALUE);
+
+    public HelloDataBinaryHttpMessageConverter() {
+        super(APPLICATION_HELLO_DATA);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return HelloData.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (isHelloData(type) || isHelloDataList(type, true)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        boolean supported = type != null ? isHelloData(type) || isHelloDataList(type, false) : supports(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    /**
+     * 응답 미디어 타입 협상은 값의 클래스(ArrayList ...)로 지원 타입을 묻는다. 원소 타입은 {@link #canWrite(Type, Class, MediaType)} 에서 이미 확인했다.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : Collections.emptyList();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        try {
+            if (isHelloDataList(type, true)) {
+                return HelloDataBinaryCodec.decodeList(inputMessage.getBody());
+            }
+            return HelloDataBinaryCodec.decode(inputMessage.getBody());
+        } catch (EOFException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid " + APPLICATION_HELLO_DATA_VALUE + " body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = value instanceof HelloData helloData
+                ? HelloDataBinaryCodec.encode(helloData)
+                : HelloDataBinaryCodec.encodeList((Collection<HelloData>) value);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    private static boolean isHelloData(Type type) {
+        return type == HelloData.class;
+    }
+
+    /**
+     * List&lt;HelloData&gt; (쓰기는 Collection&lt;HelloData&gt; 도 가능), 원소 타입을 알 수 없는 raw List 는 지원하지 않는다.
+     */
+    private static boolean isHelloDataList(Type type, boolean reading) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        Class<?> rawClass = resolvableType.resolve();
+        if (rawClass == null) {
+            return false;
+        }
+        boolean collection = reading ? rawClass.isAssignableFrom(List.class) && Collection.class.isAssignableFrom(rawClass)
+                : Collection.class.isAssignableFrom(rawClass);
+        return collection && resolvableType.asCollection().resolveGeneric(0) == HelloData.class;
+    }
+}
@@ -0,0 +1,69 @@
+package hello.springmvc.basic.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 읽어가는 바이트 중 앞부분 limit bytes 만 미리보기 버퍼에 복사해두는 InputStream<br>
+ * 바디 전체를 String 으로 만들지 않고도 바디 로그를 남길 수 있다.<br>
+ * 미리보기 버퍼는 호출하는 쪽이 준비한다. (ex. {@link BufferPool#acquire()})
+ */
+public class BodyPreviewInputStream extends FilterInputStream {
+
+    private final byte[] preview;
+    private final int limit;
+    private int previewLength;
+    private long count;
+
+    public BodyPreviewInputStream(InputStream in, byte[] preview, int limit) {
+        super(in);
+        this.preview = preview;
+        this.limit = Math.min(limit, preview.length);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            if (previewLength < limit) {
+                preview[previewLength++] = (byte) b;
+            }
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            if (previewLength < limit) {
+                int copy = Math.min(n, limit - previewLength);
+                System.arraycopy(b, off, preview, previewLength, copy);
+                previewLength += copy;
+            }
+            count += n;
+        }
+        return n;
+    }
+
+    /**
+     * 지금까지 읽은 전체 바이트 수
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 미리보기 문자열, limit 를 넘게 읽었다면 뒤에 "...(총 n bytes)" 를 붙인다.
+     */
+    public String preview(Charset charset) {
+        String text = new String(preview, 0, previewLength, charset);
+        if (count > previewLength) {
+            return text + "...(" + count + " bytes)";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,60 @@
+package hello.springmvc.basic.io;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 크기의 byte[] 버퍼를 재사용하기 위한 풀<br>
+ * 요청마다 버퍼를 새로 만들지 않고 빌려 쓴 뒤 돌려준다. (young generation 할당 감소)<br>
+ * 풀에 보관하는 버퍼 수는 maxRetained 를 넘지 않는다. 넘치는 버퍼는 버려서 GC 가 회수한다.<br>
+ * <p>
+ * 사용 예)<br>
+ * {@code byte[] buffer = BufferPool.shared().acquire();}<br>
+ * {@code try { ... } finally { BufferPool.shared().release(buffer); }}
+ */
+public class BufferPool {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    private static final BufferPool SHARED = new BufferPool(DEFAULT_BUFFER_SIZE, 256);
+
+    private final int bufferSize;
+    private final int maxRetained;
+    private final ConcurrentLinkedQueue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retained = new AtomicInteger();
+
+    public BufferPool(int bufferSize, int maxRetained) {
+        this.bufferSize = bufferSize;
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * 애플리케이션 전체에서 공유하는 8KB 버퍼 풀
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            return new byte[bufferSize];
+        }
+        retained.decrementAndGet();
+        return buffer;
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer == null || buffer.length != bufferSize) {
+            return;
+        }
+        if (retained.incrementAndGet() > maxRetained) {
+            retained.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,157 @@
+package hello.springmvc.basic.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * NDJSON(newline-delimited JSON) 스트림을 한 줄(레코드)씩 잘라서 읽는다.<br>
+ * 바디 전체를 메모리에 올리지 않고 {@link BufferPool} 에서 빌린 읽기 버퍼 1개와 레코드 버퍼 1개만 사용한다.<br>
+ * 레코드 버퍼는 maxRecordSize 까지만 커진다. 그보다 긴 줄은 줄 끝까지 건너뛰고 {@link #isOverflow()} 로 알려준다.<br>
+ * 빈 줄은 건너뛴다.
+ * <p>
+ * {@code while (reader.next()) { objectReader.readValue(reader.getRecord(), 0, reader.getRecordLength()); }}
+ */
+public class NdjsonRecordReader implements Closeable {
+
+    private static final int INITIAL_RECORD_SIZE = 1024;
+
+    private final InputStream in;
+    private final int maxRecordSize;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private byte[] record = new byte[INITIAL_RECORD_SIZE];
+    private int recordLength;
+    private boolean overflow;
+    private long lineNumber;
+
+    public NdjsonRecordReader(InputStream in, int maxRecordSize) {
+        this.in = in;
+        this.maxRecordSize = maxRecordSize;
+        this.buffer = BufferPool.shared().acquire();
+    }
+
+    /**
+     * 다음 레코드로 이동한다.
+     *
+     * @return 더 이상 레코드가 없으면 false
+     */
+    public boolean next() throws IOException {
+        recordLength = 0;
+        overflow = false;
+
+        while (true) {
+            if (position == limit) {
+                if (eof || !fill()) {
+                    if (recordLength == 0 && !overflow) {
+                        return false;
+                    }
+                    lineNumber++;
+                    if (isBlankRecord()) {
+                        return false;
+                    }
+                    return true;
+                }
+            }
+
+            int newline = indexOfNewline();
+            int end = newline == -1 ? limit : newline;
+            append(position, end - position);
+            position = newline == -1 ? limit : newline + 1;
+
+            if (newline != -1) {
+                lineNumber++;
+                if (isBlankRecord()) {
+                    recordLength = 0;
+                    continue;
+                }
+                return true;
+            }
+        }
+    }
+
+    public byte[] getRecord() {
+        return record;
+    }
+
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * 현재 레코드가 maxRecordSize 를 넘어서 잘렸는지 여부, true 이면 레코드 내용은 사용할 수 없다.
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    /**
+     * 현재 레코드의 줄 번호 (1 부터 시작)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 읽기 버퍼를 풀에 돌려준다. 원본 InputStream 은 닫지 않는다.
+     */
+    @Override
+    public void close() {
+        BufferPool.shared().release(buffer);
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            eof = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private int indexOfNewline() {
+        for (int i = position; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int offset, int length) {
+        if (overflow || length == 0) {
+            return;
+        }
+        if (recordLength + length > maxRecordSize) {
+            overflow = true;
+            return;
+        }
+        if (recordLength + length > record.length) {
+            int size = Math.min(maxRecordSize, Math.max(record.length * 2, recordLength + length));
+            byte[] grown = new byte[size];
+            System.arraycopy(record, 0, grown, 0, recordLength);
+            record = grown;
+        }
+        System.arraycopy(buffer, offset, record, recordLength, length);
+        recordLength += length;
+    }
+
+    private boolean isBlankRecord() {
+        if (overflow) {
+            return false;
+        }
+        for (int i = 0; i < recordLength; i++) {
+            byte b = record[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
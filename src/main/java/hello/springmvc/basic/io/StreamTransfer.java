@@ -0,0 +1,31 @@
+package hello.springmvc.basic.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * InputStream -> OutputStream 바이트 그대로 전달<br>
+ * {@link InputStream#transferTo(OutputStream)} 와 같지만, 호출마다 8KB 버퍼를 새로 만들지 않고 {@link BufferPool} 에서 빌려 쓴다.<br>
+ * 바디를 String 이나 byte[] 로 만들지 않으므로 바디 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+public abstract class StreamTransfer {
+
+    /**
+     * @return 전달한 전체 바이트 수
+     */
+    public static long transfer(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = BufferPool.shared().acquire();
+        try {
+            long total = 0;
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+            }
+            return total;
+        } finally {
+            BufferPool.shared().release(buffer);
+        }
+    }
+}
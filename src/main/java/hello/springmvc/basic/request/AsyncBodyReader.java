@@ -0,0 +1,159 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.io.BufferPool;
+import hello.springmvc.limit.PayloadTooLargeException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 요청 바디를 Servlet 3.1 non-blocking I/O({@link ReadListener})로 읽고, 다 읽으면 {@link DeferredResult} 를 완료한다.<br>
+ * 핸들러는 DeferredResult 를 바로 반환하므로 바디가 도착하기를 기다리는 동안 톰캣 요청 스레드를 붙잡지 않는다.<br>
+ * 바이트가 도착하면 컨테이너가 onDataAvailable 을 부르고, isReady() 가 false 가 될 때까지만 읽고 돌아간다.<br>
+ * <p>
+ * ReadListener 는 비동기 모드가 시작된 뒤에만 등록할 수 있으므로 DeferredResult 처리 시작 직후(preProcess)에 등록한다.<br>
+ * 컨테이너가 non-blocking 읽기를 지원하지 않으면(MockMvc 등) 같은 자리에서 블로킹으로 읽는다. 결과는 같다.<br>
+ * 바디 크기 제한은 {@link hello.springmvc.limit.BodySizeLimitFilter} 가 그대로 적용된다.<br>
+ * 제한을 넘으면 read 가 {@link PayloadTooLargeException} 을 던지는데, onDataAvailable 밖으로 던지면 톰캣이 요청을 오류 상태(500)로 만든다.<br>
+ * 그래서 콜백 안에서 잡아 DeferredResult 오류 결과로 넘기고(-> 413) 더 읽지 않는다.
+ */
+@Slf4j
+class AsyncBodyReader implements ReadListener, DeferredResultProcessingInterceptor {
+
+    /**
+     * Content-Length 를 모를 때 처음 버퍼 크기
+     */
+    private static final int INITIAL_SIZE = 1024;
+
+    /**
+     * 바디를 다 받을 때까지 기다리는 시간, 넘으면 503 (AsyncRequestTimeoutException)
+     */
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * 다 읽은 바디를 결과로 바꾼다. (컨테이너의 I/O 콜백 스레드에서 실행)
+     */
+    @FunctionalInterface
+    interface BodyHandler<T> {
+        T handle(byte[] body, int length) throws Exception;
+    }
+
+    private final DeferredResult<Object> result;
+    private final BodyHandler<?> handler;
+    private final long contentLength;
+    private ServletInputStream input;
+    private byte[] body;
+    private int length;
+    private boolean failed;
+
+    private AsyncBodyReader(DeferredResult<Object> result, BodyHandler<?> handler, long contentLength) {
+        this.result = result;
+        this.handler = handler;
+        this.contentLength = contentLength;
+        //Content-Length 는 클라이언트가 보낸 값이므로 그만큼 미리 잡지 않는다. (바이트가 도착하는 만큼 늘린다)
+        this.body = new byte[contentLength > 0 ? (int) Math.min(contentLength, BufferPool.DEFAULT_BUFFER_SIZE) : INITIAL_SIZE];
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> DeferredResult<T> read(HttpServletRequest request, BodyHandler<T> handler) {
+        DeferredResult<T> result = new DeferredResult<>(TIMEOUT_MILLIS);
+        AsyncBodyReader reader = new AsyncBodyReader((DeferredResult<Object>) (DeferredResult<?>) result, handler, request.getContentLengthLong());
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(reader, reader);
+        return result;
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, DeferredResult<T> deferredResult) throws Exception {
+        input = request.getNativeRequest(HttpServletRequest.class).getInputStream();
+        try {
+            input.setReadListener(this);
+        } catch (UnsupportedOperationException | IllegalStateException e) {
+            log.debug("non-blocking read not supported, reading blocking: {}", e.getMessage());
+            readBlocking();
+        }
+    }
+
+    @Override
+    public void onDataAvailable() throws IOException {
+        if (failed) {
+            return;
+        }
+        try {
+            while (input.isReady()) {
+                if (length == body.length) {
+                    if (input.isFinished()) {
+                        return;
+                    }
+                    grow();
+                }
+                int n = input.read(body, length, body.length - length);
+                if (n == -1) {
+                    return;
+                }
+                length += n;
+            }
+        } catch (PayloadTooLargeException e) {
+            //isReady() 를 다시 부르지 않으므로 컨테이너도 onDataAvailable 을 더 부르지 않는다.
+            failed = true;
+            result.setErrorResult(e);
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+        if (!failed) {
+            complete();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        result.setErrorResult(t);
+    }
+
+    private void readBlocking() {
+        try {
+            int n;
+            while (true) {
+                if (length == body.length) {
+                    grow();
+                }
+                if ((n = input.read(body, length, body.length - length)) == -1) {
+                    break;
+                }
+                length += n;
+            }
+        } catch (IOException | RuntimeException e) {
+            result.setErrorResult(e);
+            return;
+        }
+        complete();
+    }
+
+    /**
+     * 두 배로 늘리되, Content-Length 를 알면 그 이상은 잡지 않는다.
+     */
+    private void grow() {
+        long size = (long) body.length * 2;
+        if (contentLength > body.length) {
+            size = Math.min(size, contentLength);
+        }
+        body = Arrays.copyOf(body, (int) Math.min(size, Integer.MAX_VALUE - 8));
+    }
+
+    private void complete() {
+        try {
+            result.setResult(handler.handle(body, length));
+        } catch (Exception e) {
+            result.setErrorResult(e);
+        }
+    }
+}
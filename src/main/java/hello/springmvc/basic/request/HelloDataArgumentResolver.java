@@ -0,0 +1,190 @@
+package hello.springmvc.basic.request;
+
+import hello.springmvc.basic.HelloData;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.Errors;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.ModelFactory;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * {@code @ModelAttribute HelloData} (생략 포함) 전용 바인딩<br>
+ * DataBinder / BeanWrapper(리플렉션, PropertyDescriptor, 변환 서비스) 대신
+ * request.getParameterMap() 에서 username, age 를 바로 읽어 setter 를 호출한다.<br>
+ * age 는 문자를 직접 더해서 int 로 만든다. (Integer.parseInt 의 박싱 / 예외 객체 없음)<br>
+ * <p>
+ * 스프링 바인딩과 결과가 같은 경우만 직접 처리하고, 나머지는 기존 ServletModelAttributeMethodProcessor 로 넘긴다.<br>
+ * 그래서 검증 오류(400, typeMismatch ...)는 항상 스프링 바인더가 만든다.<br>
+ * - 직접 처리: age 가 부호 + 10진수 int 범위, username / age 값이 1개, @ResponseBody 핸들러<br>
+ * - 넘김: age=abc, age= , 공백, 16진수(0x1F), 값 여러 개, username.x / age[0] / _age / !age 같은 파라미터,
+ * URI 변수 {username} {age}, 모델에 이미 helloData 가 있음<br>
+ * - 처음부터 넘김(파라미터마다 한 번 판단): @Valid / @Validated, 다음 파라미터가 BindingResult, @ModelAttribute(binding = false),
+ * 뷰를 렌더링하는 핸들러(BindingResult 가 모델에 필요), 컨트롤러나 @ControllerAdvice 에 @InitBinder 가 있음<br>
+ * <p>
+ * 등록: {@link HelloDataHandlerAdapter} (기본 argument resolver 보다 앞)
+ */
+public class HelloDataArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String USERNAME = "username";
+    private static final String AGE = "age";
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private final HandlerMethodArgumentResolver fallback;
+    private final boolean initBinderAdvice;
+
+    /**
+     * @param fallback         기존 argument resolver 목록 (바인딩을 직접 하지 않을 때)
+     * @param initBinderAdvice {@code @ControllerAdvice} 에 @InitBinder 가 있으면 true (항상 넘김)
+     */
+    public HelloDataArgumentResolver(HandlerMethodArgumentResolver fallback, boolean initBinderAdvice) {
+        this.fallback = fallback;
+        this.initBinderAdvice = initBinderAdvice;
+    }
+
+    /**
+     * HandlerMethodArgumentResolverComposite 가 파라미터별 결과를 캐시하므로 파라미터마다 한 번만 호출된다.
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (parameter.getParameterType() != HelloData.class || initBinderAdvice) {
+            return false;
+        }
+        ModelAttribute modelAttribute = parameter.getParameterAnnotation(ModelAttribute.class);
+        if (modelAttribute == null && parameter.getParameterAnnotations().length > 0) {
+            return false;
+        }
+        if (modelAttribute != null && !modelAttribute.binding()) {
+            return false;
+        }
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            if (ValidationAnnotationUtils.determineValidationHints(annotation) != null) {
+                return false;
+            }
+        }
+        Class<?>[] parameterTypes = parameter.getExecutable().getParameterTypes();
+        int next = parameter.getParameterIndex() + 1;
+        if (next < parameterTypes.length && Errors.class.isAssignableFrom(parameterTypes[next])) {
+            return false;
+        }
+        Class<?> controllerType = parameter.getContainingClass();
+        boolean responseBody = parameter.hasMethodAnnotation(ResponseBody.class)
+                || AnnotatedElementUtils.hasAnnotation(controllerType, ResponseBody.class);
+        return responseBody && MethodIntrospector.selectMethods(controllerType,
+                (MethodIntrospector.MetadataLookup<InitBinder>) method -> AnnotatedElementUtils.findMergedAnnotation(method, InitBinder.class))
+                .isEmpty();
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, @Nullable ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, @Nullable WebDataBinderFactory binderFactory) throws Exception {
+        HelloData helloData = bind(parameter, mavContainer, webRequest);
+        if (helloData == null) {
+            return fallback.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+        if (mavContainer != null) {
+            mavContainer.addAttribute(ModelFactory.getNameForParameter(parameter), helloData);
+        }
+        return helloData;
+    }
+
+    /**
+     * @return 스프링 바인더와 결과가 다를 수 있으면 null
+     */
+    @Nullable
+    private static HelloData bind(MethodParameter parameter, @Nullable ModelAndViewContainer mavContainer, NativeWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null) {
+            return null;
+        }
+        if (mavContainer != null && mavContainer.containsAttribute(ModelFactory.getNameForParameter(parameter))) {
+            return null;
+        }
+        Object uriVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (uriVariables instanceof Map<?, ?> variables && (variables.containsKey(USERNAME) || variables.containsKey(AGE))) {
+            return null;
+        }
+
+        Map<String, String[]> parameters = request.getParameterMap();
+        for (String name : parameters.keySet()) {
+            if (!name.equals(USERNAME) && !name.equals(AGE) && (isNestedOrMarker(name, USERNAME) || isNestedOrMarker(name, AGE))) {
+                return null;
+            }
+        }
+        String[] usernames = parameters.get(USERNAME);
+        String[] ages = parameters.get(AGE);
+        if ((usernames != null && usernames.length != 1) || (ages != null && ages.length != 1)) {
+            return null;
+        }
+        long age = ages != null ? parseInt(ages[0]) : 0;
+        if (age == INVALID) {
+            return null;
+        }
+
+        HelloData helloData = new HelloData();
+        if (usernames != null) {
+            helloData.setUsername(usernames[0]);
+        }
+        helloData.setAge((int) age);
+        return helloData;
+    }
+
+    /**
+     * username.x, username[0], _username(필드 마커), !username(필드 기본값)
+     */
+    private static boolean isNestedOrMarker(String name, String property) {
+        int start = name.startsWith("_") || name.startsWith("!") ? 1 : 0;
+        if (!name.startsWith(property, start)) {
+            return false;
+        }
+        int end = start + property.length();
+        return end == name.length() || name.charAt(end) == '.' || name.charAt(end) == '[';
+    }
+
+    /**
+     * Integer.valueOf 와 같은 형식만 받는다: [+-]숫자, int 범위<br>
+     * 빈 값, 공백, 16진수, 범위 초과는 INVALID (스프링 변환 서비스에 맡긴다)
+     */
+    static long parseInt(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return INVALID;
+        }
+        int index = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index = 1;
+            if (length == 1) {
+                return INVALID;
+            }
+        }
+        if (length - index > 10) {
+            return INVALID;
+        }
+        long value = 0;
+        for (; index < length; index++) {
+            char c = text.charAt(index);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            value = value * 10 + (c - '0');
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? INVALID : value;
+    }
+}
@@ -0,0 +1,52 @@
+package hello.springmvc.basic.request;
+
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.method.ControllerAdviceBean;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolverComposite;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link HelloDataArgumentResolver} 를 argument resolver 목록 맨 앞에 둔다.<br>
+ * WebMvcConfigurer.addArgumentResolvers 로 추가하면 기본 resolver 뒤에 붙어서
+ * {@code @ModelAttribute} 파라미터를 ServletModelAttributeMethodProcessor 가 먼저 가져간다.<br>
+ * 나머지 설정(메시지 컨버터, 바인딩 초기화, 비동기 ...)은 스프링 부트가 그대로 적용한다.<br>
+ * <p>
+ * 등록: {@link hello.springmvc.MvcRegistrations}
+ */
+public class HelloDataHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        List<HandlerMethodArgumentResolver> defaults = getArgumentResolvers();
+        if (defaults == null) {
+            return;
+        }
+        HandlerMethodArgumentResolverComposite fallback = new HandlerMethodArgumentResolverComposite().addResolvers(defaults);
+        List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(defaults.size() + 1);
+        resolvers.add(new HelloDataArgumentResolver(fallback, hasInitBinderAdvice()));
+        resolvers.addAll(defaults);
+        setArgumentResolvers(resolvers);
+    }
+
+    private boolean hasInitBinderAdvice() {
+        if (getApplicationContext() == null) {
+            return false;
+        }
+        for (ControllerAdviceBean advice : ControllerAdviceBean.findAnnotatedBeans(getApplicationContext())) {
+            Class<?> beanType = advice.getBeanType();
+            if (beanType != null && !MethodIntrospector.selectMethods(beanType,
+                    (MethodIntrospector.MetadataLookup<InitBinder>) method -> AnnotatedElementUtils.findMergedAnnotation(method, InitBinder.class))
+                    .isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,20 +1,27 @@
 package hello.springmvc.basic.request;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.io.BodyPreviewInputStream;
+import hello.springmvc.basic.io.BufferPool;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.RequestEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -25,6 +32,11 @@ import java.nio.charset.StandardCharsets;
 @Controller
 public class RequestBodyJsonController {
 
+    /**
+     * 스트리밍 방식(v11, v21)에서 바디 로그로 남길 최대 bytes
+     */
+    private static final int BODY_PREVIEW_LIMIT = 1024;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @PostMapping("/request-body-json-v1")
@@ -39,6 +51,20 @@ public class RequestBodyJsonController {
         response.getWriter().write(helloData.toString());
     }
 
+    /**
+     * @1. v1 스트리밍 방식
+     * <br> StreamUtils.copyToString 으로 바디를 String 으로 복사한 뒤 다시 파싱하지 않고, ServletInputStream 에서 바로 HelloData 를 만든다.
+     * <br> Jackson 파서는 읽기 버퍼를 BufferRecycler 로 재사용하므로, 요청당 할당은 바디 크기와 관계없이 거의 일정하다.
+     * @2. 바디 로그
+     * <br> 파서가 읽어가는 바이트 중 앞부분만 {@link BufferPool} 에서 빌린 버퍼에 복사해두었다가 로그로 남긴다.
+     */
+    @PostMapping("/request-body-json-v11")
+    public void requestBodyJsonV11(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HelloData helloData = readHelloData(request.getInputStream());
+
+        response.getWriter().write(helloData.toString());
+    }
+
     /**
      * @1. @RequestBody
      * <br> HttpMessageConverter 사용 -> StringHttpMessageConverter 적용
@@ -56,6 +82,18 @@ public class RequestBodyJsonController {
         return helloData.toString();
     }
 
+    /**
+     * @1. v2 스트리밍 방식
+     * <br> @RequestBody String 대신 InputStream 을 받아서 String 복사 없이 HelloData 를 만든다.
+     * <br> InputStream(Reader): HTTP 요청 메시지 바디의 내용을 직접 조회
+     */
+    @PostMapping("/request-body-json-v21")
+    public @ResponseBody String requestBodyJsonV21(InputStream inputStream) throws IOException {
+        HelloData helloData = readHelloData(inputStream);
+
+        return helloData.toString();
+    }
+
     /**
      * @1. @RequestBody 생략 불가능(@ModelAttribute 가 적용되어 버림)
      * <br> HttpMessageConverter 사용 -> MappingJackson2HttpMessageConverter (content-type: application/json)
@@ -120,4 +158,42 @@ public class RequestBodyJsonController {
 
         return helloData;
     }
+
+    /**
+     * non-blocking 읽기(Servlet 3.1 {@link jakarta.servlet.ReadListener}) + {@link DeferredResult}<br>
+     * 바디가 다 도착할 때까지 요청 스레드를 붙잡지 않고, 다 받은 뒤 v5 와 같은 JSON 응답<br>
+     * JSON 형식 오류는 v5(@RequestBody) 와 같이 400
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-async")
+    public DeferredResult<HelloData> requestBodyJsonAsync(HttpServletRequest request) {
+        return AsyncBodyReader.read(request, (body, length) -> {
+            HelloData helloData;
+            try {
+                helloData = objectMapper.readValue(body, 0, length, HelloData.class);
+            } catch (JsonProcessingException e) {
+                throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e,
+                        new ServletServerHttpRequest(request));
+            }
+            log.info(helloData.toString());
+            return helloData;
+        });
+    }
+
+    private HelloData readHelloData(InputStream inputStream) throws IOException {
+        if (!log.isInfoEnabled()) {
+            return objectMapper.readValue(inputStream, HelloData.class);
+        }
+
+        byte[] buffer = BufferPool.shared().acquire();
+        try {
+            BodyPreviewInputStream previewInputStream = new BodyPreviewInputStream(inputStream, buffer, BODY_PREVIEW_LIMIT);
+            HelloData helloData = objectMapper.readValue(previewInputStream, HelloData.class);
+            log.info("messageBody={}", previewInputStream.preview(StandardCharsets.UTF_8));
+            log.info(helloData.toString());
+            return helloData;
+        } finally {
+            BufferPool.shared().release(buffer);
+        }
+    }
 }
@@ -0,0 +1,123 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.io.NdjsonRecordReader;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HelloData 대량 수신 (NDJSON)<br>
+ * content-type: application/x-ndjson<br>
+ * <pre>
+ * {"username":"userA", "age":15}
+ * {"username":"userB", "age":20}
+ * </pre>
+ * 레코드를 한 줄씩 읽어서 바로 처리하므로 업로드 크기와 관계없이 힙 사용량이 일정하다.<br>
+ * 파싱에는 스프링 빈 ObjectMapper (MappingJackson2HttpMessageConverter 와 같은 설정)를 사용한다.<br>
+ * 응답도 NDJSON 으로, batchSize 개 레코드를 처리할 때마다 배치 결과 한 줄을 바로 내려준다.<br>
+ * {@code {"batch":1,"count":1000,"failed":1,"errors":["line 7: ..."]}}
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class RequestBodyNdjsonController {
+
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final int MAX_ERRORS_PER_BATCH = 10;
+
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/request-body-json-bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void requestBodyJsonBulk(InputStream inputStream,
+                                    HttpServletResponse response,
+                                    @RequestParam(defaultValue = "1000") int batchSize) throws IOException {
+        if (batchSize < 1) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "batchSize must be positive");
+            return;
+        }
+
+        ObjectReader reader = objectMapper.readerFor(HelloData.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+
+        BatchResult batch = new BatchResult(1);
+        try (NdjsonRecordReader records = new NdjsonRecordReader(inputStream, MAX_RECORD_SIZE)) {
+            while (records.next()) {
+                if (records.isOverflow()) {
+                    batch.fail(records.getLineNumber(), "record exceeds " + MAX_RECORD_SIZE + " bytes");
+                } else {
+                    try {
+                        HelloData helloData = reader.readValue(records.getRecord(), 0, records.getRecordLength());
+                        process(helloData);
+                        batch.success();
+                    } catch (JsonProcessingException e) {
+                        batch.fail(records.getLineNumber(), e.getOriginalMessage());
+                    }
+                }
+
+                if (batch.getCount() == batchSize) {
+                    writeBatch(outputStream, batch);
+                    batch = new BatchResult(batch.getBatch() + 1);
+                }
+            }
+        }
+
+        if (batch.getCount() > 0 || batch.getBatch() == 1) {
+            writeBatch(outputStream, batch);
+        }
+    }
+
+    private void process(HelloData helloData) {
+        log.debug("helloData={}", helloData);
+    }
+
+    private void writeBatch(OutputStream outputStream, BatchResult batch) throws IOException {
+        log.info("batch={}, count={}, failed={}", batch.getBatch(), batch.getCount(), batch.getFailed());
+        outputStream.write(objectMapper.writeValueAsBytes(batch));
+        outputStream.write('\n');
+        outputStream.flush();
+    }
+
+    /**
+     * 배치 하나의 처리 결과, errors 는 배치당 최대 {@value #MAX_ERRORS_PER_BATCH} 개까지만 담는다.
+     */
+    @Getter
+    static class BatchResult {
+        private final int batch;
+        private int count;
+        private int failed;
+        private final List<String> errors = new ArrayList<>();
+
+        BatchResult(int batch) {
+            this.batch = batch;
+        }
+
+        void success() {
+            count++;
+        }
+
+        void fail(long lineNumber, String message) {
+            count++;
+            failed++;
+            if (errors.size() < MAX_ERRORS_PER_BATCH) {
+                errors.add("line " + lineNumber + ": " + message);
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package hello.springmvc.basic.request;
 
+import hello.springmvc.basic.io.BodyPreviewInputStream;
+import hello.springmvc.basic.io.BufferPool;
+import hello.springmvc.basic.io.StreamTransfer;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +16,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,6 +28,11 @@ import java.util.ArrayList;
 @Controller
 public class RequestBodyStringController {
 
+    /**
+     * v5 에서 debug 로그로 남길 바디 최대 bytes
+     */
+    private static final int BODY_PREVIEW_LIMIT = 1024;
+
     /**
      * 요청 파라미터와 다르게, HTTP 메시지 바디를 통해 데이터가 직접 넘어오는 경우는 {@link RequestParam} ,{@link ModelAttribute} 를 사용할 수 없다. <br>
      * (물론 HTML Form 형식으로 전달되는 경우는 요청 파라미터로 인정된다.)<br>
@@ -53,6 +62,23 @@ public class RequestBodyStringController {
         responseWriter.write(messageBody);
     }
 
+    /**
+     * non-blocking 읽기(Servlet 3.1 {@link jakarta.servlet.ReadListener}) + {@link DeferredResult}<br>
+     * v1, v2 는 바디가 다 올 때까지 톰캣 요청 스레드가 read() 에서 기다린다. (느린 클라이언트 수 = 붙잡힌 스레드 수)<br>
+     * async 는 핸들러가 바로 반환하고, 바이트가 도착했을 때만 컨테이너 스레드가 잠깐 읽고 돌아간다.<br>
+     * 바디를 다 받으면 v4 와 같은 응답, 비교: ./gradlew asyncBodyBenchmark
+     */
+    @ResponseBody
+    @PostMapping("/request-body-string-async")
+    public DeferredResult<String> requestBodyStringAsync(HttpServletRequest request) {
+        return AsyncBodyReader.read(request, (body, length) -> {
+            String messageBody = new String(body, 0, length, StandardCharsets.UTF_8);
+
+            log.info("messageBody={}", messageBody);
+            return messageBody;
+        });
+    }
+
     /**
      * 스프링 MVC는 다음 파라미터를 지원한다.<br>
      * <p>
@@ -131,4 +157,39 @@ public class RequestBodyStringController {
         log.info("messageBody={}", messageBody);
         return messageBody;
     }
-}
\ No newline at end of file
+
+    /**
+     * 스트리밍 전달(pass-through)<br>
+     * v1 ~ v41 은 요청 바디를 String 으로 만든 뒤(디코딩 + 복사) 다시 응답 바디로 쓴다(인코딩 + 복사).<br>
+     * v5 는 바디를 만들지 않고 요청 InputStream 의 바이트를 {@link BufferPool} 버퍼로 응답 OutputStream 에 그대로 넘긴다.<br>
+     * 바디 크기와 관계없이 메모리 사용량이 일정하다.<br>
+     * <p>
+     * 바디 로그는 debug 레벨일 때만 앞부분 {@value #BODY_PREVIEW_LIMIT} bytes 까지 남긴다.
+     */
+    @PostMapping("/request-body-string-v5")
+    public void requestBodyStringV5(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getContentType() != null) {
+            response.setContentType(request.getContentType());
+        }
+        long contentLength = request.getContentLengthLong();
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+
+        if (!log.isDebugEnabled()) {
+            long size = StreamTransfer.transfer(request.getInputStream(), response.getOutputStream());
+            log.info("messageBody size={}", size);
+            return;
+        }
+
+        byte[] buffer = BufferPool.shared().acquire();
+        try {
+            BodyPreviewInputStream inputStream = new BodyPreviewInputStream(request.getInputStream(), buffer, BODY_PREVIEW_LIMIT);
+            long size = StreamTransfer.transfer(inputStream, response.getOutputStream());
+            log.info("messageBody size={}", size);
+            log.debug("messageBody={}", inputStream.preview(StandardCharsets.UTF_8));
+        } finally {
+            BufferPool.shared().release(buffer);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -45,4 +46,13 @@ public class RequestHeaderController {
         result.put("cookie", cookie);
         return result;
     }
+
+    /**
+     * /headers 와 같은 JSON, 헤더를 Map 으로 복사하지 않고 {@link RequestHeaderView} 가 응답에 바로 쓴다.<br>
+     * 요청마다 헤더 전체를 로그로 남기지 않는다. (로그 문자열을 만드는 것 자체가 헤더 복사)
+     */
+    @GetMapping("/headers-v2")
+    public RequestHeaderView headersV2(HttpServletRequest request, HttpServletResponse response) {
+        return new RequestHeaderView(request, response, "myCookie");
+    }
 }
@@ -0,0 +1,104 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.io.IOException;
+import java.util.Enumeration;
+
+/**
+ * 요청 헤더 읽기 전용 뷰 (GET /headers-v2 응답)<br>
+ * 헤더를 MultiValueMap / HashMap 으로 복사하지 않고 HttpServletRequest 를 감싸기만 한다.<br>
+ * JSON 으로 쓸 때 request.getHeaderNames(), getHeaders(name) 를 돌면서 JsonGenerator 에 바로 쓴다.<br>
+ * 헤더 값 디코딩(Tomcat MessageBytes -> String)도 이때 한 번만 일어난다.<br>
+ * <p>
+ * JSON 모양은 /headers 와 같다.<br>
+ * {"request": ..., "response": ..., "method": "GET", "locale": "ko", "header": {"Accept": ["*\/*"], ...}, "host": ["localhost:8080"], "cookie": "myCookie"}<br>
+ * 응답이 끝난 뒤에는 쓸 수 없다. (서블릿 요청은 재사용된다)
+ */
+public class RequestHeaderView implements JsonSerializable {
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final String cookieName;
+
+    public RequestHeaderView(HttpServletRequest request, HttpServletResponse response, String cookieName) {
+        this.request = request;
+        this.response = response;
+        this.cookieName = cookieName;
+    }
+
+    /**
+     * 헤더 첫 번째 값 (대소문자 구분 없음), 없으면 null
+     */
+    public String getHeader(String name) {
+        return request.getHeader(name);
+    }
+
+    public Enumeration<String> getHeaders(String name) {
+        return request.getHeaders(name);
+    }
+
+    public String getCookie() {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(cookieName)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this);
+        writeFields(gen);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(this, JsonToken.START_OBJECT));
+        writeFields(gen);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    private void writeFields(JsonGenerator gen) throws IOException {
+        gen.writeStringField("request", request.getClass().getName());
+        gen.writeStringField("response", response.getClass().getName());
+        gen.writeStringField("method", request.getMethod());
+        gen.writeStringField("locale", RequestContextUtils.getLocale(request).toString());
+
+        gen.writeObjectFieldStart("header");
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            gen.writeFieldName(name);
+            writeValues(gen, request.getHeaders(name));
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName("host");
+        writeValues(gen, request.getHeaders("host"));
+        gen.writeStringField("cookie", getCookie());
+    }
+
+    private static void writeValues(JsonGenerator gen, Enumeration<String> values) throws IOException {
+        gen.writeStartArray();
+        while (values.hasMoreElements()) {
+            gen.writeString(values.nextElement());
+        }
+        gen.writeEndArray();
+    }
+}
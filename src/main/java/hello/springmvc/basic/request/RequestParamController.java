@@ -1,6 +1,7 @@
 package hello.springmvc.basic.request;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.converter.AsciiBody;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -39,10 +40,10 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-v2")
     @ResponseBody
-    public String paramV2(@RequestParam("username") String memberName,
+    public AsciiBody paramV2(@RequestParam("username") String memberName,
                           @RequestParam("age") int memberAge) {
         log.info("username={}, age={}", memberName, memberAge);
-        return "username=" + memberName + ", age=" + memberAge;
+        return AsciiBody.create().append("username=").append(memberName).append(", age=").append(memberAge);
     }
 
     /**
@@ -51,10 +52,10 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-v3")
     @ResponseBody
-    public String paramV3(@RequestParam String username,
+    public AsciiBody paramV3(@RequestParam String username,
                           @RequestParam int age) {
         log.info("username={}, age={}", username, age);
-        return "username=" + username + ", age=" + age;
+        return AsciiBody.create().append("username=").append(username).append(", age=").append(age);
     }
 
     /**
@@ -63,9 +64,9 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-v4")
     @ResponseBody
-    public String paramV4(String username, int age) {
+    public AsciiBody paramV4(String username, int age) {
         log.info("username={}, age={}", username, age);
-        return "username=" + username + ", age=" + age;
+        return AsciiBody.create().append("username=").append(username).append(", age=").append(age);
     }
 
     /**
@@ -80,11 +81,11 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-required")
     @ResponseBody
-    public String paramRequired(
+    public AsciiBody paramRequired(
             @RequestParam(required = true) String username,
             @RequestParam(required = false) Integer age) {
         log.info("username={}, age={}", username, age);
-        return "username=" + username + ", age=" + age;
+        return AsciiBody.create().append("username=").append(username).append(", age=").append(age);
     }
 
     /**
@@ -95,11 +96,11 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-default")
     @ResponseBody
-    public String paramDefault(
+    public AsciiBody paramDefault(
             @RequestParam(defaultValue = "guest") String username,
             @RequestParam(defaultValue = "-1") Integer age) {
         log.info("username={}, age={}", username, age);
-        return "username=" + username + ", age=" + age;
+        return AsciiBody.create().append("username=").append(username).append(", age=").append(age);
     }
 
     /**
@@ -109,10 +110,11 @@ public class RequestParamController {
      */
     @RequestMapping("/request-param-map")
     @ResponseBody
-    public String paramDefault(
+    public AsciiBody paramDefault(
             @RequestParam MultiValueMap<String, Object> paramMap) {
         log.info("username={}, age={}", paramMap.get("username").get(0), paramMap.get("age").get(0));
-        return "username=" + paramMap.get("username").get(0) + ", age=" + paramMap.get("age").get(0);
+        return AsciiBody.create().append("username=").append(String.valueOf(paramMap.get("username").get(0)))
+                .append(", age=").append(String.valueOf(paramMap.get("age").get(0)));
     }
 
     /**
@@ -0,0 +1,135 @@
+package hello.springmvc.basic.requestmapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 경로(/hello-basic, /mapping-get, /log-test ...) 전용 빠른 매핑<br>
+ * 시작할 때 패턴이 없는 경로만 모아서 "경로 -> HTTP 메서드 -> 핸들러" 표를 만들어 둔다.<br>
+ * 요청이 오면 표에서 바로 찾고(HashMap, O(1)), params / headers / consumes / produces 조건은
+ * {@link RequestMappingInfo#getMatchingCondition(HttpServletRequest)} 로 기존과 똑같이 검사한다.<br>
+ * <p>
+ * 다음 경우에는 기존 {@link RequestMappingHandlerMapping} 의 패턴 매칭으로 넘긴다. (동작이 기존과 같음)<br>
+ * - 표에 없는 경로 ({@code /mapping/{userId}} 같은 패턴 경로)<br>
+ * - 조건을 만족하는 후보가 없거나 2개 이상 (400, 404, 405, 406, 415 응답 결정은 기존 로직이 한다)<br>
+ * - CORS preflight 요청<br>
+ * <p>
+ * 등록: {@link hello.springmvc.MvcRegistrations}
+ */
+public class LiteralPathHandlerMapping extends RequestMappingHandlerMapping {
+
+    private volatile Map<String, PathRoutes> literalRoutes = Map.of();
+    private final LongAdder literalHits = new LongAdder();
+
+    @Override
+    protected void handlerMethodsInitialized(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        super.handlerMethodsInitialized(handlerMethods);
+        rebuildLiteralRoutes();
+    }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        rebuildLiteralRoutes();
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        rebuildLiteralRoutes();
+    }
+
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+        PathRoutes pathRoutes = literalRoutes.get(lookupPath);
+        if (pathRoutes == null || CorsUtils.isPreFlightRequest(request)) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+
+        Route matched = null;
+        RequestMappingInfo matchedInfo = null;
+        for (Route route : pathRoutes.byMethod.getOrDefault(request.getMethod(), pathRoutes.anyMethod)) {
+            RequestMappingInfo info = route.info.getMatchingCondition(request);
+            if (info == null) {
+                continue;
+            }
+            if (matched != null) {
+                return super.lookupHandlerMethod(lookupPath, request);
+            }
+            matched = route;
+            matchedInfo = info;
+        }
+        if (matched == null) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+
+        literalHits.increment();
+        request.setAttribute(BEST_MATCHING_HANDLER_ATTRIBUTE, matched.handlerMethod);
+        handleMatch(matchedInfo, lookupPath, request);
+        return matched.handlerMethod;
+    }
+
+    /**
+     * 고정 경로 표로 바로 찾은 요청 수
+     */
+    public long getLiteralHits() {
+        return literalHits.sum();
+    }
+
+    public Set<String> getLiteralPaths() {
+        return literalRoutes.keySet();
+    }
+
+    private void rebuildLiteralRoutes() {
+        Map<String, Map<String, List<Route>>> byPath = new HashMap<>();
+        getHandlerMethods().forEach((info, handlerMethod) -> {
+            Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+            for (String path : info.getDirectPaths()) {
+                Map<String, List<Route>> byMethod = byPath.computeIfAbsent(path, key -> new HashMap<>());
+                if (methods.isEmpty()) {
+                    byMethod.computeIfAbsent(null, key -> new ArrayList<>()).add(new Route(info, handlerMethod));
+                }
+                for (RequestMethod method : methods) {
+                    byMethod.computeIfAbsent(method.name(), key -> new ArrayList<>()).add(new Route(info, handlerMethod));
+                }
+            }
+        });
+
+        Map<String, PathRoutes> routes = new HashMap<>();
+        byPath.forEach((path, byMethod) -> {
+            List<Route> anyMethod = byMethod.getOrDefault(null, List.of());
+            Map<String, Route[]> methodRoutes = new HashMap<>();
+            byMethod.forEach((method, list) -> {
+                if (method != null) {
+                    List<Route> candidates = new ArrayList<>(list);
+                    candidates.addAll(anyMethod);
+                    methodRoutes.put(method, candidates.toArray(Route[]::new));
+                }
+            });
+            routes.put(path, new PathRoutes(methodRoutes, anyMethod.toArray(Route[]::new)));
+        });
+        literalRoutes = routes;
+    }
+
+    private record Route(RequestMappingInfo info, HandlerMethod handlerMethod) {
+    }
+
+    /**
+     * byMethod: HTTP 메서드별 후보 (method 조건이 없는 매핑 포함)<br>
+     * anyMethod: method 조건이 없는 매핑만 ({@code @RequestMapping("/hello-basic")}), byMethod 에 없는 메서드일 때 사용
+     */
+    private record PathRoutes(Map<String, Route[]> byMethod, Route[] anyMethod) {
+    }
+}
@@ -1,7 +1,14 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.basic.HelloData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 
 /**
  * 회원 관리 API<br>
@@ -11,34 +18,58 @@ import org.springframework.web.bind.annotation.*;
  * 회원 조회: GET /users/{userId}<br>
  * 회원 수정: PATCH /users/{userId}<br>
  * 회원 삭제: DELETE /users/{userId}<br>
+ * <p>
+ * 회원은 {@link HelloData} 모양({"username":"userA", "age":15})이고, userId 는 username 이다.<br>
+ * 저장소는 {@link UserRepository} (ConcurrentHashMap)
  */
 @RestController
 @RequestMapping("/mapping/users")
+@RequiredArgsConstructor
 public class MappingClassController {
 
+    private final UserRepository userRepository;
+
     @GetMapping
-    public String users() {
-        return "get users";
+    public List<HelloData> users() {
+        return userRepository.findAll();
     }
 
+    /**
+     * 201 CREATED, username 이 비어 있으면 400, 이미 있는 userId 이면 409
+     */
     @PostMapping
-    public String addUser() {
-        return "add user";
+    public ResponseEntity<HelloData> addUser(@RequestBody HelloData helloData) {
+        if (!StringUtils.hasText(helloData.getUsername())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!userRepository.add(helloData)) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(helloData, HttpStatus.CREATED);
     }
 
     @GetMapping("/{userId}")
-    public String findUser(@PathVariable String userId) {
-        return "find userId=" + userId;
+    public ResponseEntity<HelloData> findUser(@PathVariable String userId) {
+        return ResponseEntity.of(userRepository.findById(userId));
     }
 
+    /**
+     * age 만 수정한다. (userId 는 바꿀 수 없음) age 가 없으면 400
+     */
     @PatchMapping("/{userId}")
-    public String updateUser(@PathVariable String userId) {
-        return "update userId=" + userId;
+    public ResponseEntity<HelloData> updateUser(@PathVariable String userId, @RequestBody UserUpdateRequest updateRequest) {
+        if (updateRequest.getAge() == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.of(userRepository.update(userId, updateRequest.getAge()));
     }
 
     @DeleteMapping("/{userId}")
-    public String deleteUser(@PathVariable String userId) {
-        return "delete userId=" + userId;
+    public ResponseEntity<Void> deleteUser(@PathVariable String userId) {
+        if (!userRepository.delete(userId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
     }
 
 }
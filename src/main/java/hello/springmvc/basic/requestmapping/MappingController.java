@@ -1,5 +1,6 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.basic.converter.AsciiBody;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
@@ -37,18 +38,18 @@ public class MappingController {
      * /mapping/userA
      */
     @GetMapping(value = "/mapping/{userId}")
-    public String mappingPath(@PathVariable("userId") String data) {
+    public AsciiBody mappingPath(@PathVariable("userId") String data) {
         log.info("mappingPath userId={}", data);
-        return data;
+        return AsciiBody.of(data);
     }
 
     /**
      * PathVariable 사용 다중
      */
     @GetMapping("/mapping/users/{userId}/orders/{orderId}")
-    public String mappingPath(@PathVariable String userId, @PathVariable Long orderId) {
+    public AsciiBody mappingPath(@PathVariable String userId, @PathVariable Long orderId) {
         log.info("mappingPath userId={}, orderId={}", userId, orderId);
-        return userId + "," + orderId;
+        return AsciiBody.create().append(userId).append(",").append(orderId);
     }
 
     /**
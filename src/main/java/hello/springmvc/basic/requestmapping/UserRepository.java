@@ -0,0 +1,76 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원 저장소 (메모리)<br>
+ * userId(= username) 로 {@link HelloData} 를 보관한다.<br>
+ * <p>
+ * {@link ConcurrentHashMap}<br>
+ * - 조회: 락 없이 O(1)<br>
+ * - 수정: 같은 버킷(키)끼리만 락을 잡는다. 서로 다른 userId 의 등록/수정/삭제는 서로 막지 않는다.<br>
+ * - 목록: values() 순회는 락을 잡지 않는다(weakly consistent). 목록을 만드는 동안에도 쓰기가 막히지 않는다.<br>
+ * <p>
+ * HelloData 는 setter 가 있는(mutable) 객체라 저장할 때도, 꺼내 줄 때도 복사본을 만든다.<br>
+ * 호출하는 쪽에서 넘긴 객체나 받은 객체를 바꿔도 저장된 값은 바뀌지 않는다.<br>
+ * 스프링 빈(싱글톤)으로 등록해서 MVC 컨트롤러와 WebFlux 핸들러가 주입받아 쓴다.
+ */
+@Repository
+public class UserRepository {
+
+    private final ConcurrentHashMap<String, HelloData> store = new ConcurrentHashMap<>();
+
+    /**
+     * @return 이미 같은 userId 가 있으면 false
+     */
+    public boolean add(HelloData user) {
+        return store.putIfAbsent(user.getUsername(), copy(user.getUsername(), user.getAge())) == null;
+    }
+
+    public Optional<HelloData> findById(String userId) {
+        return Optional.ofNullable(store.get(userId)).map(this::copy);
+    }
+
+    public List<HelloData> findAll() {
+        List<HelloData> users = new ArrayList<>(store.size());
+        for (HelloData user : store.values()) {
+            users.add(copy(user));
+        }
+        return users;
+    }
+
+    /**
+     * @return 수정된 회원, 없는 userId 이면 empty
+     */
+    public Optional<HelloData> update(String userId, int age) {
+        return Optional.ofNullable(store.computeIfPresent(userId, (id, user) -> copy(id, age))).map(this::copy);
+    }
+
+    /**
+     * @return 없는 userId 이면 false
+     */
+    public boolean delete(String userId) {
+        return store.remove(userId) != null;
+    }
+
+    public int count() {
+        return store.size();
+    }
+
+    private HelloData copy(HelloData user) {
+        return copy(user.getUsername(), user.getAge());
+    }
+
+    private HelloData copy(String username, int age) {
+        return HelloData.builder()
+                .username(username)
+                .age(age)
+                .build();
+    }
+}
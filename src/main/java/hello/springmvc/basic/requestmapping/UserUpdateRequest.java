@@ -0,0 +1,12 @@
+package hello.springmvc.basic.requestmapping;
+
+import lombok.Data;
+
+/**
+ * 회원 수정 요청 바디 {"age":30}<br>
+ * age 를 int 로 받으면 빈 바디 {} 가 age=0 으로 바인딩되어 구분할 수 없다. Integer 로 받아서 없으면(null) 400 으로 돌려준다.
+ */
+@Data
+public class UserUpdateRequest {
+    private Integer age;
+}
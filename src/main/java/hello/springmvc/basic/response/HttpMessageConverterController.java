@@ -1,11 +1,14 @@
 package hello.springmvc.basic.response;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.io.StreamTransfer;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -90,6 +93,23 @@ public class HttpMessageConverterController {
         return helloDataBytes;
     }
 
+    /**
+     * byte[] 스트리밍 전달(pass-through)
+     * <br>{@link #convertBytes(byte[])} 는 ByteArrayHttpMessageConverter 가 요청 바디 전체를 byte[] 로 읽고 다시 응답에 쓴다.
+     * <br>이 방식은 byte[] 를 만들지 않고 요청 InputStream 을 응답 OutputStream 으로 바로 넘긴다. (메시지 컨버터 사용 X)
+     */
+    @RequestMapping("/http-message-converter-bytes-stream")
+    public void convertBytesStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(request.getContentType() != null ? request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        long contentLength = request.getContentLengthLong();
+        if (contentLength >= 0) {
+            response.setContentLengthLong(contentLength);
+        }
+
+        long size = StreamTransfer.transfer(request.getInputStream(), response.getOutputStream());
+        log.debug("helloDataBytes size={}", size);
+    }
+
     /**
      * @StringHttpMessageConverter : String 문자로 데이터를 처리한다.
      * <br>클래스 타입:String ,미디어타입:*\/*
@@ -113,4 +133,17 @@ public class HttpMessageConverterController {
     public HelloData convertJson(@RequestBody HelloData helloData) throws IOException {
         return helloData;
     }
+
+    /**
+     * @HelloDataBinaryHttpMessageConverter : application/x-hello-data (WebConfig 에서 추가)
+     * <br>클래스 타입: HelloData , List&lt;HelloData&gt; , 미디어타입 application/x-hello-data
+     * <br>요청 예) Content-Type: application/x-hello-data , @RequestBody List&lt;HelloData&gt; data
+     * <br>응답 예) Accept: application/x-hello-data 이면 바이너리, application/json 이면 JSON (콘텐츠 협상)
+     * <br>{@link #convertJson(HelloData)} 도 같은 방식으로 바이너리 요청/응답을 처리할 수 있다.
+     */
+    @ResponseBody
+    @RequestMapping("/http-message-converter-json-list")
+    public List<HelloData> convertJsonList(@RequestBody List<HelloData> helloDataList) throws IOException {
+        return helloDataList;
+    }
 }
@@ -1,6 +1,7 @@
 package hello.springmvc.basic.response;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.cache.CachedResponse;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
@@ -52,7 +53,9 @@ public class ResponseBodyController {
     /**
      * @1. responseBodyJsonV1
      * ResponseEntity 를 반환한다. HTTP 메시지 컨버터를 통해서 JSON 형식으로 변환되어서 반환된다.
+     * <br> 응답이 항상 같으므로 @CachedResponse 로 직렬화된 바이트를 재사용한다. (ETag, If-None-Match -> 304)
      */
+    @CachedResponse
     @GetMapping("/response-body-json-v1")
     public ResponseEntity<HelloData> responseBodyJsonV1() {
         HelloData helloData = HelloData.builder()
@@ -66,7 +69,9 @@ public class ResponseBodyController {
      * @1. responseBodyJsonV2
      * <br> ResponseEntity 는 HTTP 응답 코드를 설정할 수 있는데, @ResponseBody 를 사용하면 이런 것을 설정하기 까다롭다.
      * <br> @ResponseStatus(HttpStatus.OK) 애노테이션을 사용하면 응답 코드도 설정할 수 있다.
+     * <br> 응답이 항상 같으므로 @CachedResponse 로 직렬화된 바이트를 재사용한다. (ETag, If-None-Match -> 304)
      */
+    @CachedResponse
     @ResponseStatus(HttpStatus.OK)
 //    @ResponseBody
     @GetMapping("/response-body-json-v2")
@@ -0,0 +1,97 @@
+package hello.springmvc.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationStrategy;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accept 헤더 파싱 결과 캐시 (콘텐츠 협상)<br>
+ * 스프링 기본 {@link HeaderContentNegotiationStrategy} 는 요청마다 Accept 문자열을 MediaType 목록으로 파싱하고 정렬한다.<br>
+ * 클라이언트가 보내는 Accept 문자열은 종류가 많지 않으므로, 원래 문자열을 키로 파싱 + 정렬된 결과를 재사용한다.<br>
+ * <p>
+ * 사용하는 곳: @RequestMapping(produces = ...) 매칭, @ResponseBody / HttpEntity 응답 컨버터 선택, 뷰 선택<br>
+ * 크기 제한: hello.content-negotiation.cache-size 개 (LRU, {@link ConcurrentLruCache})<br>
+ * 상태 조회: GET /internal/content-negotiation (hit / miss)<br>
+ * <p>
+ * 기본 헤더 전략을 대체한다. (spring.mvc.contentnegotiation.favor-parameter 는 사용하지 않는다)
+ */
+@Component
+public class AcceptHeaderCache implements WebMvcConfigurer, ContentNegotiationStrategy {
+
+    /**
+     * {@link MimeTypeUtils#sortBySpecificity(List)} 가 정렬하는 최대 개수
+     */
+    private static final int MAX_MEDIA_TYPES = 50;
+
+    private final ConcurrentLruCache<String, List<MediaType>> mediaTypes;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AcceptHeaderCache(@Value("${hello.content-negotiation.cache-size:256}") int cacheSize) {
+        this.mediaTypes = new ConcurrentLruCache<>(cacheSize, this::parse);
+    }
+
+    @Override
+    public void configureContentNegotiation(ContentNegotiationConfigurer configurer) {
+        configurer.strategies(List.of(this));
+    }
+
+    @Override
+    public List<MediaType> resolveMediaTypes(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        String[] headerValues = request.getHeaderValues(HttpHeaders.ACCEPT);
+        if (headerValues == null) {
+            return MEDIA_TYPE_ALL_LIST;
+        }
+        String accept = headerValues.length == 1 ? headerValues[0] : String.join(",", headerValues);
+        try {
+            lookups.increment();
+            return mediaTypes.get(accept);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException("Could not parse 'Accept' header " + accept + ": " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", mediaTypes.size());
+        stats.put("capacity", mediaTypes.capacity());
+        stats.put("hits", lookupCount - missCount);
+        stats.put("misses", missCount);
+        return stats;
+    }
+
+    /**
+     * {@link HeaderContentNegotiationStrategy#resolveMediaTypes(NativeWebRequest)} 와 같은 결과 (미디어 타입이 {@value #MAX_MEDIA_TYPES}개를 넘으면 406)<br>
+     * 여러 요청이 같이 쓰므로 수정할 수 없는 목록으로 저장한다.
+     */
+    private List<MediaType> parse(String accept) {
+        misses.increment();
+        List<MediaType> parsed = MediaType.parseMediaTypes(accept);
+        if (parsed.size() > MAX_MEDIA_TYPES) {
+            //스프링 6.0.3 의 sortBySpecificity 는 IllegalArgumentException 을 던지므로 먼저 거부한다. (이후 버전은 InvalidMimeTypeException)
+            throw new InvalidMimeTypeException(accept, "Too many elements");
+        }
+        MimeTypeUtils.sortBySpecificity(parsed);
+        return parsed.isEmpty() ? MEDIA_TYPE_ALL_LIST : Collections.unmodifiableList(parsed);
+    }
+}
@@ -0,0 +1,21 @@
+package hello.springmvc.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 응답 바디가 항상 같은 핸들러에 붙인다. ({@code @ResponseBody}, {@code ResponseEntity} 반환)<br>
+ * 처음 한 번만 핸들러와 메시지 컨버터를 실행하고, 직렬화된 바이트를 {@link ResponseCache} 에 저장해서 다시 쓴다.<br>
+ * 요청 파라미터, 경로 변수에 따라 응답이 달라지는 핸들러에는 붙이면 안 된다. (캐시 키는 캐시 이름 + Accept 헤더)<br>
+ * <p>
+ * 응답이 바뀌는 경우에는 {@link ResponseCache#evict(String)} 로 지운다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CachedResponse {
+
+    /**
+     * 캐시 이름, 비어 있으면 "컨트롤러 클래스 이름.메서드 이름" (예: ResponseBodyController.responseBodyJsonV1)
+     */
+    String value() default "";
+}
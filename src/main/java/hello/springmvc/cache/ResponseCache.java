@@ -0,0 +1,253 @@
+package hello.springmvc.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link CachedResponse} 핸들러의 직렬화된 응답 캐시<br>
+ * <p>
+ * 캐시 있음 (preHandle, {@link HandlerInterceptor})<br>
+ * - 핸들러와 메시지 컨버터를 실행하지 않고 저장된 바이트를 그대로 쓴다.<br>
+ * - If-None-Match 가 ETag 와 같으면 바디 없이 304 Not Modified<br>
+ * <p>
+ * 캐시 없음 (beforeBodyWrite, {@link ResponseBodyAdvice})<br>
+ * - 스프링이 고른 메시지 컨버터로 한 번 직렬화해서 저장하고, 같은 바이트를 응답으로 쓴다. (직렬화는 한 번)<br>
+ * - 200 응답만 저장한다.<br>
+ * <p>
+ * 캐시 키: 캐시 이름 + Accept 헤더 (Accept 에 따라 컨버터, Content-Type 이 달라질 수 있다)<br>
+ * ETag: 바디의 MD5, weak (W/"...")<br>
+ * {@link hello.springmvc.compression.CompressionFilter} 가 같은 바디를 gzip 으로도 보내므로 strong ETag 를 쓰면
+ * 바이트가 다른 두 응답(gzip / identity)이 같은 strong ETag 를 갖게 된다. (RFC 9110 8.8.1)<br>
+ * weak ETag 는 의미가 같은 표현이면 공유할 수 있고, If-None-Match 는 weak 비교라 304 는 인코딩과 상관없이 동작한다.<br>
+ * 지우기: {@link #evict(String)}, {@link #evictAll()}, DELETE /internal/response-cache<br>
+ * 지우는 동안 직렬화 중이던 응답은 저장하지 않는다. (세대 번호로 비교)<br>
+ * 등록: {@link hello.springmvc.WebConfig}
+ */
+@Slf4j
+@ControllerAdvice
+@RequiredArgsConstructor
+public class ResponseCache implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    /**
+     * Accept 헤더 종류가 많아도 메모리를 무한정 쓰지 않도록 저장 개수를 제한한다.
+     */
+    public static final int MAX_ENTRIES = 1024;
+
+    /**
+     * {@link CachedResponse} 가 없는 메서드 (캐시 이름은 비어 있을 수 없다)
+     */
+    private static final String NOT_CACHED = "";
+    private static final String GENERATION_ATTRIBUTE = ResponseCache.class.getName() + ".GENERATION";
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    private final Map<Method, String> cacheNames = new ConcurrentHashMap<>();
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !isGetOrHead(request)) {
+            return true;
+        }
+        String name = cacheName(handlerMethod.getMethod());
+        if (name.isEmpty()) {
+            return true;
+        }
+
+        Entry entry = entries.get(new Key(name, acceptOf(request)));
+        if (entry == null) {
+            misses.increment();
+            request.setAttribute(GENERATION_ATTRIBUTE, generation.get());
+            return true;
+        }
+
+        if (new ServletWebRequest(request, response).checkNotModified(entry.etag)) {
+            notModified.increment();
+            return false;
+        }
+        hits.increment();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType);
+        response.setContentLength(entry.body.length);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            response.getOutputStream().write(entry.body);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return !cacheName(returnType.getMethod()).isEmpty();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)
+                || !(servletRequest.getServletRequest().getAttribute(GENERATION_ATTRIBUTE) instanceof Long startGeneration)
+                || servletResponse.getServletResponse().getStatus() != HttpServletResponse.SC_OK) {
+            return body;
+        }
+        HttpMessageConverter<?> converter = findConverter(selectedConverterType);
+        if (converter == null) {
+            return body;
+        }
+
+        BufferedOutputMessage message = new BufferedOutputMessage();
+        try {
+            write(converter, body, selectedContentType, message);
+            byte[] bytes = message.body.toByteArray();
+            MediaType contentType = message.headers.getContentType() != null
+                    ? message.headers.getContentType() : selectedContentType;
+            Entry entry = new Entry(bytes, contentType.toString(),
+                    "W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+
+            Key key = new Key(cacheName(returnType.getMethod()), acceptOf(servletRequest.getServletRequest()));
+            if (generation.get() == startGeneration && entries.size() < MAX_ENTRIES
+                    && entries.putIfAbsent(key, entry) == null) {
+                stored.increment();
+            }
+
+            response.getHeaders().setContentType(contentType);
+            response.getHeaders().setContentLength(bytes.length);
+            response.getHeaders().setETag(entry.etag);
+            response.getBody().write(bytes);
+            return null;
+        } catch (IOException e) {
+            log.warn("response cache serialization failed. handler={}", returnType.getMethod(), e);
+            return body;
+        }
+    }
+
+    /**
+     * 캐시 이름이 같은 응답을 모두 지운다. (Accept 별 응답 전부)
+     */
+    public void evict(String name) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.name.equals(name));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("hits", hits.sum());
+        stats.put("notModified", notModified.sum());
+        stats.put("misses", misses.sum());
+        stats.put("stored", stored.sum());
+        return stats;
+    }
+
+    private String cacheName(Method method) {
+        if (method == null) {
+            return NOT_CACHED;
+        }
+        return cacheNames.computeIfAbsent(method, key -> {
+            CachedResponse cachedResponse = key.getAnnotation(CachedResponse.class);
+            if (cachedResponse == null) {
+                return NOT_CACHED;
+            }
+            return StringUtils.hasText(cachedResponse.value())
+                    ? cachedResponse.value()
+                    : key.getDeclaringClass().getSimpleName() + "." + key.getName();
+        });
+    }
+
+    private HttpMessageConverter<?> findConverter(Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestMappingHandlerAdapter adapter = handlerAdapter.getIfAvailable();
+        if (adapter == null) {
+            return null;
+        }
+        for (HttpMessageConverter<?> converter : adapter.getMessageConverters()) {
+            if (converter.getClass() == converterType) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(HttpMessageConverter<?> converter, Object body, MediaType contentType,
+                              HttpOutputMessage message) throws IOException {
+        if (converter instanceof GenericHttpMessageConverter<?> genericConverter) {
+            ((GenericHttpMessageConverter<Object>) genericConverter).write(body, body.getClass(), contentType, message);
+        } else {
+            ((HttpMessageConverter<Object>) converter).write(body, contentType, message);
+        }
+    }
+
+    private static boolean isGetOrHead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private static String acceptOf(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null ? accept : "";
+    }
+
+    private record Key(String name, String accept) {
+    }
+
+    private record Entry(byte[] body, String contentType, String etag) {
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
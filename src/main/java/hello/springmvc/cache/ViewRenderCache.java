@@ -0,0 +1,203 @@
+package hello.springmvc.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.config.annotation.ViewResolverRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 타임리프 렌더링 결과 캐시<br>
+ * 같은 뷰 이름 + 같은 모델 + 같은 Locale 이면 템플릿을 다시 렌더링하지 않고 저장된 바이트를 그대로 쓴다.<br>
+ * 예) /response-view-v1, /response-view-v2, /response/hello 는 모두 response/hello + {data=hello} 이므로 같은 캐시를 쓴다.<br>
+ * <p>
+ * 대상: hello.view-cache.view-names 에 적은 뷰만 (템플릿이 요청 파라미터, 세션을 쓰지 않는 뷰)<br>
+ * 모델 지문: 모델 값이 모두 단순 값(문자, 숫자, Boolean, enum)일 때만 캐시한다. 객체가 있으면 그냥 렌더링한다.<br>
+ * 크기 제한: hello.view-cache.max-entries 개 (LRU, 가장 오래 안 쓴 것부터 지움)<br>
+ * 유효 시간: hello.view-cache.ttl (지나면 다시 렌더링)<br>
+ * 상태 조회: GET /internal/view-cache<br>
+ * <p>
+ * 뷰 리졸버는 타임리프 뷰 리졸버보다 먼저 실행되도록 등록하고, 타임리프가 찾은 뷰를 감싸기만 한다.<br>
+ * 그래서 ModelAndView 의 뷰 이름, 모델은 그대로다.
+ */
+@Component
+public class ViewRenderCache implements WebMvcConfigurer {
+
+    private final ObjectProvider<ThymeleafViewResolver> thymeleafViewResolver;
+    private final Set<String> viewNames;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+
+    public ViewRenderCache(ObjectProvider<ThymeleafViewResolver> thymeleafViewResolver,
+                           @Value("${hello.view-cache.view-names:response/hello}") String[] viewNames,
+                           @Value("${hello.view-cache.max-entries:256}") int maxEntries,
+                           @Value("${hello.view-cache.ttl:60s}") Duration ttl) {
+        this.thymeleafViewResolver = thymeleafViewResolver;
+        this.viewNames = Set.of(viewNames);
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ViewRenderCache.this.maxEntries) {
+                    evicted.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 타임리프 뷰 리졸버(LOWEST_PRECEDENCE - 5)보다 먼저 실행
+     */
+    @Override
+    public void configureViewResolvers(ViewResolverRegistry registry) {
+        registry.order(Ordered.LOWEST_PRECEDENCE - 10);
+        registry.viewResolver(this::resolveViewName);
+    }
+
+    private View resolveViewName(String viewName, Locale locale) throws Exception {
+        if (!viewNames.contains(viewName)) {
+            return null;
+        }
+        ThymeleafViewResolver delegate = thymeleafViewResolver.getIfAvailable();
+        if (delegate == null) {
+            return null;
+        }
+        View view = delegate.resolveViewName(viewName, locale);
+        return view != null ? new CachedView(viewName, locale, view) : null;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("expired", expired.sum());
+        stats.put("evicted", evicted.sum());
+        stats.put("uncacheable", uncacheable.sum());
+        return stats;
+    }
+
+    private synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdNanos > ttlNanos) {
+            entries.remove(key);
+            expired.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * 모델 지문, 단순 값이 아닌 모델이 있으면 null (캐시하지 않음)
+     */
+    private static Map<String, Object> fingerprint(Map<String, ?> model) {
+        if (model == null || model.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> fingerprint = new HashMap<>(model.size() * 2);
+        for (Map.Entry<String, ?> attribute : model.entrySet()) {
+            if (attribute.getKey().startsWith(BindingResult.MODEL_KEY_PREFIX)) {
+                continue;
+            }
+            Object value = attribute.getValue();
+            if (value != null && !isSimpleValue(value)) {
+                return null;
+            }
+            fingerprint.put(attribute.getKey(), value);
+        }
+        return fingerprint;
+    }
+
+    private static boolean isSimpleValue(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?>;
+    }
+
+    private record Key(String viewName, Locale locale, Map<String, Object> model) {
+    }
+
+    private record Entry(byte[] body, String contentType, long createdNanos) {
+    }
+
+    private class CachedView implements View {
+        private final String viewName;
+        private final Locale locale;
+        private final View delegate;
+
+        CachedView(String viewName, Locale locale, View delegate) {
+            this.viewName = viewName;
+            this.locale = locale;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getContentType() {
+            return delegate.getContentType();
+        }
+
+        @Override
+        public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+            Map<String, Object> fingerprint = fingerprint(model);
+            if (fingerprint == null) {
+                uncacheable.increment();
+                delegate.render(model, request, response);
+                return;
+            }
+
+            Key key = new Key(viewName, locale, fingerprint);
+            Entry entry = get(key);
+            if (entry != null) {
+                hits.increment();
+                response.setContentType(entry.contentType);
+                response.setContentLength(entry.body.length);
+                response.getOutputStream().write(entry.body);
+                return;
+            }
+
+            misses.increment();
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            delegate.render(model, request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && wrapper.getContentType() != null) {
+                put(key, new Entry(wrapper.getContentAsByteArray(), wrapper.getContentType(), System.nanoTime()));
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
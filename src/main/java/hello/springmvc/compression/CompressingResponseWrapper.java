@@ -0,0 +1,412 @@
+package hello.springmvc.compression;
+
+import hello.springmvc.basic.io.BufferPool;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+
+/**
+ * 처음 minSize 바이트까지는 모아 두었다가 압축할지 정한다.<br>
+ * - minSize 이상 + 압축 대상 Content-Type + Content-Encoding 없음 -> gzip (Content-Length 제거, Vary: Accept-Encoding)<br>
+ * - 그 외 -> 모아 둔 바이트를 그대로 쓰고 이후는 통과<br>
+ * 응답이 minSize 보다 작게 끝나면 압축하지 않는다. (작은 응답은 gzip 헤더/트레일러 18 bytes 가 더 크다)<br>
+ * <p>
+ * 정하기 전의 flush() 는 무시한다. (메시지 컨버터가 쓰고 나서 항상 flush 한다)<br>
+ * 단, NDJSON / SSE 처럼 스트리밍하는 Content-Type 은 flush 할 때 바로 정한다.<br>
+ * <p>
+ * 모아 두는 버퍼는 첫 write 때 {@link BufferPool} 에서 빌리고(minSize 가 풀 버퍼보다 크면 새로 할당), 정하고 나면 돌려준다.<br>
+ * gzip 을 시작한 뒤 커밋 전에<br>
+ * - reset(): 헤더와 함께 gzip 상태도 버리고 처음(UNDECIDED)부터 다시 정한다.<br>
+ * - resetBuffer(): 헤더(Content-Encoding)는 그대로 두고 Deflater 를 reset 해서 gzip 헤더부터 다시 쓴다.<br>
+ * - sendError() / sendRedirect(): Content-Encoding, Vary: Accept-Encoding 을 빼고 Deflater 를 돌려준다. 컨테이너 오류 페이지는 압축하지 않는다.<br>
+ * 커밋된 뒤에는 컨테이너가 IllegalStateException 을 던진다.<br>
+ * non-blocking 쓰기(setWriteListener)는 압축하지 않는다. (압축하지 않기로 정하고 원래 스트림에 등록)
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum Mode {UNDECIDED, IDENTITY, GZIP}
+
+    private final DeflaterPool deflaterPool;
+    private final int minSize;
+    private final Predicate<String> compressible;
+    private final Predicate<String> streaming;
+
+    private Mode mode = Mode.UNDECIDED;
+    private byte[] pending;
+    private int pendingCount;
+    private long contentLength = -1;
+    private boolean errorSent;
+
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private Deflater deflater;
+    private PooledGzipOutputStream gzip;
+
+    CompressingResponseWrapper(HttpServletResponse response, DeflaterPool deflaterPool, int minSize,
+                               Predicate<String> compressible, Predicate<String> streaming) {
+        super(response);
+        this.deflaterPool = deflaterPool;
+        this.minSize = minSize;
+        this.compressible = compressible;
+        this.streaming = streaming;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            outputStream = new CompressingOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (mode == Mode.UNDECIDED) {
+            contentLength = len;
+            if (len < minSize) {
+                decideIdentity();
+            }
+        } else if (mode == Mode.IDENTITY) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+            return;
+        }
+        super.setHeader(name, value);
+        checkContentEncoding(name);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+            return;
+        }
+        super.addHeader(name, value);
+        checkContentEncoding(name);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.setIntHeader(name, value);
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+            return;
+        }
+        super.addIntHeader(name, value);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discardPending();
+        super.sendError(sc, msg);
+        errorSent = true;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discardPending();
+        super.sendError(sc);
+        errorSent = true;
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discardPending();
+        super.sendRedirect(location);
+        errorSent = true;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.flush();
+        }
+        if (mode != Mode.UNDECIDED) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        releaseDeflater();
+        releasePending();
+        mode = Mode.UNDECIDED;
+        contentLength = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        releasePending();
+        if (mode == Mode.GZIP) {
+            //컨테이너 버퍼에 있던 gzip 헤더와 압축 바이트가 지워졌으므로 새 gzip 스트림으로 다시 시작한다.
+            deflater.reset();
+            try {
+                gzip = new PooledGzipOutputStream(super.getOutputStream(), deflater);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 필터가 응답 마지막에 호출한다. 남은 바이트, gzip 트레일러를 쓰고 Deflater 를 풀에 돌려준다.<br>
+     * sendError / sendRedirect 뒤에는 응답을 컨테이너가 쓰므로 아무것도 쓰지 않는다.
+     */
+    void finish() throws IOException {
+        if (errorSent) {
+            releaseDeflater();
+            releasePending();
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        if (mode == Mode.UNDECIDED && (pendingCount > 0 || contentLength >= 0)) {
+            contentLength = pendingCount;
+            decideIdentity();
+        }
+        if (mode == Mode.GZIP) {
+            try {
+                gzip.finish();
+            } finally {
+                releaseDeflater();
+            }
+        }
+        releasePending();
+    }
+
+    private void checkContentEncoding(String name) {
+        if (mode == Mode.UNDECIDED && HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+            decideIdentity();
+        }
+    }
+
+    private void discardPending() {
+        if (mode == Mode.UNDECIDED) {
+            releasePending();
+            contentLength = -1;
+            mode = Mode.IDENTITY;
+        } else if (mode == Mode.GZIP && !isCommitted()) {
+            abandonGzip();
+        }
+    }
+
+    /**
+     * gzip 을 시작했지만 아직 커밋 전, Content-Encoding 과 Vary: Accept-Encoding 만 빼고 나머지 헤더는 다시 넣는다.<br>
+     * 서블릿 API 에는 헤더를 지우는 메서드가 없으므로 reset() 후 다시 넣는다.
+     */
+    private void abandonGzip() {
+        int status = getStatus();
+        String contentType = getContentType();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : getHeaderNames()) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                continue;
+            }
+            List<String> values = new ArrayList<>(getHeaders(name));
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                values.remove(HttpHeaders.ACCEPT_ENCODING);
+            }
+            headers.put(name, values);
+        }
+        super.reset();
+        super.setStatus(status);
+        if (contentType != null) {
+            super.setContentType(contentType);
+        }
+        headers.forEach((name, values) -> values.forEach(value -> super.addHeader(name, value)));
+        releaseDeflater();
+        mode = Mode.IDENTITY;
+    }
+
+    /**
+     * 모아 둘 버퍼, 처음 쓸 때 빌린다.
+     */
+    private byte[] pendingBuffer() {
+        if (pending == null) {
+            BufferPool pool = BufferPool.shared();
+            pending = minSize <= pool.getBufferSize() ? pool.acquire() : new byte[minSize];
+        }
+        return pending;
+    }
+
+    private void releasePending() {
+        pendingCount = 0;
+        if (pending != null) {
+            BufferPool.shared().release(pending);
+            pending = null;
+        }
+    }
+
+    private void releaseDeflater() {
+        if (deflater != null) {
+            deflaterPool.release(deflater);
+            deflater = null;
+        }
+        gzip = null;
+    }
+
+    private void decide() throws IOException {
+        int status = getStatus();
+        boolean compress = status != SC_NO_CONTENT && status != SC_NOT_MODIFIED && status != SC_PARTIAL_CONTENT
+                && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && getContentType() != null && compressible.test(getContentType());
+        if (!compress) {
+            decideIdentity();
+            return;
+        }
+        mode = Mode.GZIP;
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        deflater = deflaterPool.acquire();
+        gzip = new PooledGzipOutputStream(super.getOutputStream(), deflater);
+        if (pendingCount > 0) {
+            gzip.write(pending, 0, pendingCount);
+        }
+        releasePending();
+    }
+
+    private void decideIdentity() {
+        if (mode != Mode.UNDECIDED) {
+            return;
+        }
+        mode = Mode.IDENTITY;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+        if (pendingCount > 0) {
+            try {
+                super.getOutputStream().write(pending, 0, pendingCount);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        releasePending();
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+
+        private final byte[] single = new byte[1];
+
+        @Override
+        public void write(int b) throws IOException {
+            single[0] = (byte) b;
+            write(single, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (mode == Mode.UNDECIDED) {
+                if (pendingCount + len < minSize) {
+                    System.arraycopy(b, off, pendingBuffer(), pendingCount, len);
+                    pendingCount += len;
+                    return;
+                }
+                decide();
+            }
+            if (mode == Mode.GZIP) {
+                gzip.write(b, off, len);
+            } else {
+                CompressingResponseWrapper.super.getOutputStream().write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (mode == Mode.UNDECIDED) {
+                if (getContentType() == null || !streaming.test(getContentType())) {
+                    return;
+                }
+                decide();
+            }
+            if (mode == Mode.GZIP) {
+                gzip.flush();
+            } else {
+                CompressingResponseWrapper.super.getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            if (mode == Mode.IDENTITY) {
+                try {
+                    return CompressingResponseWrapper.super.getOutputStream().isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 아직 정하지 않았으면 압축하지 않기로 정하고 원래 스트림에 등록한다.<br>
+         * gzip 을 이미 시작했으면 PooledGzipOutputStream 이 블로킹 스트림이므로 등록할 수 없다.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (mode == Mode.UNDECIDED) {
+                decideIdentity();
+            }
+            if (mode == Mode.GZIP) {
+                throw new IllegalStateException("setWriteListener() after gzip compression has started");
+            }
+            try {
+                CompressingResponseWrapper.super.getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
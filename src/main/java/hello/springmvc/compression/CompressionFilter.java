@@ -0,0 +1,150 @@
+package hello.springmvc.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 응답 gzip 압축 필터<br>
+ * <p>
+ * 조건: Accept-Encoding 에 gzip(q > 0), 응답이 hello.compression.min-response-size 이상,
+ * Content-Type 이 hello.compression.mime-types 중 하나, 이미 Content-Encoding 이 없음<br>
+ * Deflater 는 {@link DeflaterPool} 에서 빌려 쓰고 돌려준다. (응답마다 zlib 네이티브 메모리 할당 X)<br>
+ * <p>
+ * 정적 리소스(static/**)는 빌드할 때 .gz 파일을 미리 만들고 (build.gradle processResources),
+ * spring.web.resources.chain.compressed=true 로 .gz 파일을 그대로 응답한다. 이 필터는 다시 압축하지 않는다. (Content-Encoding 있음)<br>
+ * 끄기: hello.compression.enabled=false
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final DeflaterPool deflaterPool;
+
+    public CompressionFilter(@Value("${hello.compression.enabled:true}") boolean enabled,
+                             @Value("${hello.compression.min-response-size:1024}") int minResponseSize,
+                             @Value("${hello.compression.level:6}") int level,
+                             @Value("${hello.compression.mime-types:text/html,text/css,text/plain,text/xml,text/javascript,application/javascript,application/json,application/*+json,application/x-ndjson,application/xml}") String[] mimeTypes) {
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = Stream.of(mimeTypes).map(MediaType::parseMediaType).toList();
+        this.deflaterPool = new DeflaterPool(level, 256);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || HttpMethod.HEAD.matches(request.getMethod())
+                || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * DeferredResult, StreamingResponseBody 는 ASYNC 디스패치가 끝날 때 압축을 마무리한다.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (wrapper == null && (isAsyncDispatch(request) || request.isAsyncStarted())) {
+            //처음 디스패치에서 감싸지 않은 응답은 이미 쓰기 시작했을 수 있으므로 중간부터 압축하지 않는다.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (wrapper == null) {
+            wrapper = new CompressingResponseWrapper(response, deflaterPool, minResponseSize,
+                    this::isCompressible, CompressionFilter::isStreaming);
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                wrapper.finish();
+            }
+        }
+    }
+
+    /**
+     * Content-Type 을 해석할 수 없으면 압축하지 않는다. (요청 Content-Type 을 그대로 응답에 쓰는 핸들러가 있다)
+     */
+    private boolean isCompressible(String contentType) {
+        MediaType mediaType = parseMediaType(contentType);
+        if (mediaType == null) {
+            return false;
+        }
+        for (MediaType mimeType : mimeTypes) {
+            if (mimeType.isCompatibleWith(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreaming(String contentType) {
+        MediaType mediaType = parseMediaType(contentType);
+        return mediaType != null
+                && (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType) || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mediaType));
+    }
+
+    @Nullable
+    private static MediaType parseMediaType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * "gzip", "gzip;q=0.8", "*" 는 허용, "gzip;q=0" 은 거부
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length == 0 || !("gzip".equalsIgnoreCase(parts[0]) || "*".equals(parts[0]))) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(parts[i].substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package hello.springmvc.compression;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * {@link Deflater} 재사용 풀<br>
+ * Deflater 는 만들 때마다 zlib 네이티브 메모리(수백 KB)를 할당하고, end() 또는 GC 가 돌 때까지 잡고 있다.<br>
+ * 응답마다 새로 만들지 않고 reset() 해서 다시 쓴다. 풀에 보관하는 수는 maxRetained 를 넘지 않는다. (넘치면 end())<br>
+ * <p>
+ * gzip 헤더/트레일러는 {@link PooledGzipOutputStream} 이 직접 쓰므로 nowrap(raw deflate) 으로 만든다.
+ */
+public class DeflaterPool {
+
+    private final int level;
+    private final int maxRetained;
+    private final ConcurrentLinkedQueue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retained = new AtomicInteger();
+
+    public DeflaterPool(int level, int maxRetained) {
+        this.level = level;
+        this.maxRetained = maxRetained;
+    }
+
+    public Deflater acquire() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            return new Deflater(level, true);
+        }
+        retained.decrementAndGet();
+        return deflater;
+    }
+
+    public void release(Deflater deflater) {
+        if (deflater == null) {
+            return;
+        }
+        deflater.reset();
+        if (retained.incrementAndGet() > maxRetained) {
+            retained.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        deflaters.offer(deflater);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,53 @@
+package hello.springmvc.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 밖에서 받은 {@link Deflater} 로 gzip 을 쓰는 스트림 ({@link java.util.zip.GZIPOutputStream} 은 Deflater 를 받지 못한다)<br>
+ * close() / finish() 해도 Deflater 를 end() 하지 않으므로 {@link DeflaterPool} 에 돌려줄 수 있다.<br>
+ * flush() 는 SYNC_FLUSH 로 지금까지 쓴 데이터를 내보낸다. (NDJSON 처럼 스트리밍하는 응답)
+ */
+public class PooledGzipOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+
+    public PooledGzipOutputStream(OutputStream out, Deflater deflater) throws IOException {
+        super(out, deflater, BUFFER_SIZE, true);
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    /**
+     * 남은 데이터와 gzip 트레일러(CRC32, 원본 크기)를 쓴다. 아래 스트림은 닫지 않는다.
+     */
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        super.finish();
+        writeIntLE((int) crc.getValue());
+        writeIntLE((int) def.getBytesRead());
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
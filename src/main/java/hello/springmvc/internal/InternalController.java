@@ -0,0 +1,160 @@
+package hello.springmvc.internal;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import hello.springmvc.cache.AcceptHeaderCache;
+import hello.springmvc.cache.ResponseCache;
+import hello.springmvc.cache.ViewRenderCache;
+import hello.springmvc.limit.BodySizeLimitFilter;
+import hello.springmvc.logging.RingBufferAsyncAppender;
+import hello.springmvc.metrics.HandlerAllocationRecorder;
+import hello.springmvc.metrics.HandlerLatencyRecorder;
+import hello.springmvc.resource.MappedResourceHandler;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 내부 운영용 조회 API (JSON)<br>
+ * GET /internal/logging : 비동기 로그 appender 상태, 버려진 이벤트 수<br>
+ * GET /internal/response-cache : 응답 캐시 저장 수, hit / 304 / miss 횟수<br>
+ * DELETE /internal/response-cache : 응답 캐시 전체 삭제<br>
+ * DELETE /internal/response-cache/{name} : 캐시 이름 하나 삭제 (예: ResponseBodyController.responseBodyJsonV1)<br>
+ * GET /internal/view-cache : 뷰 렌더링 캐시 저장 수, hit / miss / 만료 / LRU 삭제 횟수<br>
+ * DELETE /internal/view-cache : 뷰 렌더링 캐시 전체 삭제<br>
+ * GET /internal/content-negotiation : Accept 헤더 파싱 캐시 저장 수, hit / miss 횟수<br>
+ * GET /internal/latency : 핸들러별 지연 시간(us) p50 / p90 / p99 / p999, 요청 수, 에러 수<br>
+ * DELETE /internal/latency : 지연 시간 기록 초기화<br>
+ * GET /internal/allocation : 핸들러별 요청 수, 요청 1건당 할당 바이트 (hello.metrics.allocation.enabled=true)<br>
+ * DELETE /internal/allocation : 할당 기록 초기화<br>
+ * GET /internal/static-resources : mmap 정적 리소스 수, 바이트, 200 / 304 / 206 / gzip / sendfile 응답 수 (hello.static-resources.mapped.enabled=true)<br>
+ * GET /internal/body-limit : 요청 바디 제한으로 거절한 요청 수(Content-Length / 읽는 중), 거절한 바이트, 503 수, 경로별 제한
+ */
+@RestController
+@RequestMapping("/internal")
+@RequiredArgsConstructor
+public class InternalController {
+
+    private final ResponseCache responseCache;
+    private final ViewRenderCache viewRenderCache;
+    private final AcceptHeaderCache acceptHeaderCache;
+    private final HandlerLatencyRecorder handlerLatencyRecorder;
+    private final HandlerAllocationRecorder handlerAllocationRecorder;
+    private final ObjectProvider<MappedResourceHandler> mappedResourceHandler;
+    private final ObjectProvider<BodySizeLimitFilter> bodySizeLimitFilter;
+
+    @GetMapping("/logging")
+    public Map<String, Object> logging() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return result;
+        }
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAsyncAppender appender) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("queueFullPolicy", appender.getQueueFullPolicy());
+                stats.put("bufferSize", appender.getBufferSize());
+                stats.put("queueSize", appender.getQueueSize());
+                stats.put("enqueued", appender.getEnqueuedCount());
+                stats.put("dropped", appender.getDroppedCount());
+                stats.put("sampled", appender.getSampledCount());
+                stats.put("blocked", appender.getBlockedCount());
+                result.put(appender.getName(), stats);
+            }
+        }
+        return result;
+    }
+
+    @GetMapping("/response-cache")
+    public Map<String, Object> responseCache() {
+        return responseCache.getStats();
+    }
+
+    @DeleteMapping("/response-cache")
+    public ResponseEntity<Void> evictResponseCache() {
+        responseCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/response-cache/{name}")
+    public ResponseEntity<Void> evictResponseCache(@PathVariable String name) {
+        responseCache.evict(name);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/view-cache")
+    public Map<String, Object> viewCache() {
+        return viewRenderCache.getStats();
+    }
+
+    @DeleteMapping("/view-cache")
+    public ResponseEntity<Void> clearViewCache() {
+        viewRenderCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/content-negotiation")
+    public Map<String, Object> contentNegotiation() {
+        return acceptHeaderCache.getStats();
+    }
+
+    @GetMapping("/latency")
+    public Map<String, Object> latency() {
+        return handlerLatencyRecorder.getStats();
+    }
+
+    @DeleteMapping("/latency")
+    public ResponseEntity<Void> resetLatency() {
+        handlerLatencyRecorder.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/allocation")
+    public Map<String, Object> allocation() {
+        return handlerAllocationRecorder.getStats();
+    }
+
+    @DeleteMapping("/allocation")
+    public ResponseEntity<Void> resetAllocation() {
+        handlerAllocationRecorder.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * mmap 모드가 꺼져 있으면 {"enabled": false}
+     */
+    @GetMapping("/static-resources")
+    public Map<String, Object> staticResources() {
+        MappedResourceHandler handler = mappedResourceHandler.getIfAvailable();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", handler != null);
+        if (handler != null) {
+            result.putAll(handler.getStats());
+        }
+        return result;
+    }
+
+    /**
+     * 필터 빈이 없으면 {"enabled": false}
+     */
+    @GetMapping("/body-limit")
+    public Map<String, Object> bodyLimit() {
+        BodySizeLimitFilter filter = bodySizeLimitFilter.getIfAvailable();
+        return filter != null ? filter.getStats() : Map.of("enabled", false);
+    }
+}
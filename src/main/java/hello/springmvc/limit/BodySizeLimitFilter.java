@@ -0,0 +1,270 @@
+package hello.springmvc.limit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * 요청 바디 크기 제한 + 동시에 읽는 바디 총량 제한(backpressure)<br>
+ * <p>
+ * 제한: hello.body-limit.routes 의 첫 번째로 맞는 경로 패턴, 없으면 hello.body-limit.default (-1 이면 제한 없음)<br>
+ * - Content-Length 가 제한보다 크면 바디를 읽지 않고 바로 413 (Connection: close, 톰캣이 남은 바디를 버리며 읽지 않도록)<br>
+ * - Content-Length 가 없으면(chunked) 읽으면서 세다가 넘는 순간 {@link PayloadTooLargeException} -> 413<br>
+ * <p>
+ * hello.body-limit.max-in-flight: 바디를 읽고 있는 요청들의 Content-Length 합계 상한 (chunked 는 경로 제한으로 계산, 0 이면 끔)<br>
+ * 넘으면 503 + Retry-After: 1, 진행 중인 요청이 없으면 하나는 항상 받는다.<br>
+ * 큰 바디 몇 개가 힙을 채워서 GC 정지로 다른 요청까지 느려지는 것을 막는다.<br>
+ * <p>
+ * form 파라미터(application/x-www-form-urlencoded)는 톰캣이 직접 읽으므로 chunked 일 때는 server.tomcat.max-http-form-post-size 가 제한한다.<br>
+ * 지표: GET /internal/body-limit
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class BodySizeLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final long defaultLimit;
+    private final List<RouteLimit> routeLimits = new ArrayList<>();
+    private final long maxInFlight;
+
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder rejectedByContentLength = new LongAdder();
+    private final LongAdder rejectedWhileReading = new LongAdder();
+    private final LongAdder rejectedBytes = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    public BodySizeLimitFilter(@Value("${hello.body-limit.enabled:true}") boolean enabled,
+                               @Value("${hello.body-limit.default:10MB}") String defaultLimit,
+                               @Value("${hello.body-limit.routes:}") String[] routes,
+                               @Value("${hello.body-limit.max-in-flight:0}") DataSize maxInFlight) {
+        this.enabled = enabled;
+        this.defaultLimit = parseLimit(defaultLimit);
+        this.maxInFlight = maxInFlight.toBytes();
+        PathPatternParser parser = new PathPatternParser();
+        for (String route : routes) {
+            int separator = route.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("hello.body-limit.routes 형식은 경로패턴:크기 (예: /request-body-string-v1:1MB), 값: " + route);
+            }
+            routeLimits.add(new RouteLimit(parser.parse(route.substring(0, separator).trim()),
+                    parseLimit(route.substring(separator + 1).trim())));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || (request.getContentLengthLong() <= 0 && request.getHeader(HttpHeaders.TRANSFER_ENCODING) == null);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteLimit route = findRoute(request);
+        long limit = route == null ? defaultLimit : route.limit;
+        long contentLength = request.getContentLengthLong();
+
+        if (limit >= 0 && contentLength > limit) {
+            rejectedByContentLength.increment();
+            reject(route, contentLength, response);
+            return;
+        }
+
+        long reserved = contentLength > 0 ? contentLength : Math.max(limit, 0);
+        if (!tryReserve(reserved)) {
+            throttled.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            HttpServletRequest limited = limit < 0 ? request : new LimitedRequest(request, limit, count -> {
+                rejectedWhileReading.increment();
+                record(route, count);
+                if (!response.isCommitted()) {
+                    response.setHeader(HttpHeaders.CONNECTION, "close");
+                }
+            });
+            filterChain.doFilter(limited, response);
+        } catch (PayloadTooLargeException e) {
+            //스프링 MVC 밖(다른 필터)에서 바디를 읽다가 넘은 경우
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            }
+        } finally {
+            if (isAsyncStarted(request)) {
+                //non-blocking 읽기(ReadListener)는 비동기 처리가 끝날 때까지 바디를 읽는다.
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        inFlight.addAndGet(-reserved);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                inFlight.addAndGet(-reserved);
+            }
+        }
+    }
+
+    private void reject(RouteLimit route, long bytes, HttpServletResponse response) throws IOException {
+        record(route, bytes);
+        log.debug("request body too large: {} bytes, limit {}", bytes, route == null ? defaultLimit : route.limit);
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    private void record(RouteLimit route, long bytes) {
+        rejectedBytes.add(bytes);
+        if (route != null) {
+            route.rejected.increment();
+            route.rejectedBytes.add(bytes);
+        }
+    }
+
+    private boolean tryReserve(long bytes) {
+        if (maxInFlight <= 0) {
+            inFlight.addAndGet(bytes);
+            return true;
+        }
+        while (true) {
+            long current = inFlight.get();
+            if (current > 0 && current + bytes > maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    private RouteLimit findRoute(HttpServletRequest request) {
+        if (routeLimits.isEmpty()) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (RouteLimit routeLimit : routeLimits) {
+            if (routeLimit.pattern.matches(pathContainer)) {
+                return routeLimit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * "-1" 은 제한 없음, 나머지는 DataSize 형식 (1MB, 64KB, 1024)
+     */
+    private static long parseLimit(String value) {
+        return value.equals("-1") ? -1 : DataSize.parse(value).toBytes();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("defaultLimit", defaultLimit);
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("inFlight", inFlight.get());
+        stats.put("rejectedByContentLength", rejectedByContentLength.sum());
+        stats.put("rejectedWhileReading", rejectedWhileReading.sum());
+        stats.put("rejectedBytes", rejectedBytes.sum());
+        stats.put("throttled", throttled.sum());
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (RouteLimit routeLimit : routeLimits) {
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("limit", routeLimit.limit);
+            route.put("rejected", routeLimit.rejected.sum());
+            route.put("rejectedBytes", routeLimit.rejectedBytes.sum());
+            routes.put(routeLimit.pattern.getPatternString(), route);
+        }
+        stats.put("routes", routes);
+        return stats;
+    }
+
+    private static class RouteLimit {
+        private final PathPattern pattern;
+        private final long limit;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder rejectedBytes = new LongAdder();
+
+        RouteLimit(PathPattern pattern, long limit) {
+            this.pattern = pattern;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * getInputStream / getReader 를 {@link LimitedServletInputStream} 으로 바꾼 요청
+     */
+    private static class LimitedRequest extends HttpServletRequestWrapper {
+
+        private final long limit;
+        private final LongConsumer onExceeded;
+        private LimitedServletInputStream inputStream;
+        private BufferedReader reader;
+
+        LimitedRequest(HttpServletRequest request, long limit, LongConsumer onExceeded) {
+            super(request);
+            this.limit = limit;
+            this.onExceeded = onExceeded;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new LimitedServletInputStream(super.getInputStream(), limit, onExceeded);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+    }
+}
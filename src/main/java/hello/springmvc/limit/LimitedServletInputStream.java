@@ -0,0 +1,90 @@
+package hello.springmvc.limit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.IOException;
+import java.util.function.LongConsumer;
+
+/**
+ * 읽은 바이트를 세다가 limit 를 넘으면 {@link PayloadTooLargeException} 을 던지는 ServletInputStream<br>
+ * Content-Length 가 없는 chunked 바디를 끝까지 메모리에 올리기 전에 중단한다.<br>
+ * RuntimeException 이므로 StreamUtils, Jackson, HttpMessageConverter 의 IOException 처리에 묻히지 않고
+ * 스프링 예외 처리(ResponseStatusException -> 413)까지 그대로 올라간다.<br>
+ * ReadListener(비동기 읽기)는 원래 스트림에 그대로 등록한다. 콜백 안에서 이 스트림의 read 를 부르면 똑같이 센다.
+ */
+class LimitedServletInputStream extends ServletInputStream {
+
+    private final ServletInputStream in;
+    private final long limit;
+    private final LongConsumer onExceeded;
+    private long count;
+    private boolean exceeded;
+
+    /**
+     * @param onExceeded limit 를 처음 넘었을 때 읽은 바이트 수로 한 번 호출 (지표 기록, Connection: close)
+     */
+    LimitedServletInputStream(ServletInputStream in, long limit, LongConsumer onExceeded) {
+        this.in = in;
+        this.limit = limit;
+        this.onExceeded = onExceeded;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    private void count(int n) {
+        count += n;
+        if (count > limit) {
+            if (!exceeded) {
+                exceeded = true;
+                onExceeded.accept(count);
+            }
+            throw new PayloadTooLargeException(null);
+        }
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return in.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+        return in.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        in.setReadListener(readListener);
+    }
+}
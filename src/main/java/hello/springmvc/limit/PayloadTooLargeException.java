@@ -0,0 +1,16 @@
+package hello.springmvc.limit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 요청 바디가 제한보다 클 때 413 Payload Too Large<br>
+ * {@link ResponseStatusException} 이므로 스프링 MVC 예외 처리(ResponseStatusExceptionResolver)가 그대로 413 으로 응답한다.
+ */
+public class PayloadTooLargeException extends ResponseStatusException {
+
+    public PayloadTooLargeException(@Nullable Throwable cause) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, null, cause);
+    }
+}
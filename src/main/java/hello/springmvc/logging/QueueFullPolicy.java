@@ -0,0 +1,20 @@
+package hello.springmvc.logging;
+
+/**
+ * {@link RingBufferAsyncAppender} 의 링 버퍼가 가득 찼을 때 요청 스레드의 동작
+ */
+public enum QueueFullPolicy {
+    /**
+     * 빈 칸이 생길 때까지 요청 스레드가 기다린다. (로그 유실 X, 로그 I/O 가 느리면 요청도 느려짐)
+     */
+    BLOCK,
+    /**
+     * 이벤트를 버리고 droppedCount 를 올린다. (요청 스레드는 절대 기다리지 않음)
+     */
+    DROP,
+    /**
+     * 버퍼 사용률이 sampleThreshold(%) 를 넘으면 WARN 미만 이벤트는 sampleRate 개 중 1개만 넣는다.
+     * 그래도 가득 차면 DROP 과 같이 버린다.
+     */
+    SAMPLE
+}
@@ -0,0 +1,265 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로그 appender (logback-spring.xml, async-log 프로파일)<br>
+ * 요청 스레드는 이벤트를 {@link LogRingBuffer} 에 넣기만 하고, 실제 출력(appender-ref)은 백그라운드 스레드 1개가 한다.<br>
+ * 따라서 요청 응답 시간이 콘솔/파일 I/O 속도에 묶이지 않는다.
+ * <p>
+ * logback 기본 AsyncAppender 와 다른 점<br>
+ * - ArrayBlockingQueue(락) 대신 lock-free 링 버퍼<br>
+ * - 요청 스레드에서 getFormattedMessage() 를 호출하지 않는다. {@code log.info("data={}", data)} 의 data.toString() 과 메시지 조립은
+ * 백그라운드 스레드에서 일어난다. (스레드 이름, MDC 는 요청 스레드에서 미리 꺼내둔다)<br>
+ * 그래서 로그 인자로 넘긴 객체를 로그 호출 직후에 바꾸면 바뀐 값이 찍힐 수 있다.<br>
+ * - 가득 찼을 때 정책({@link QueueFullPolicy})과 버려진 이벤트 수를 설정/조회할 수 있다.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int bufferSize = 8192;
+    private QueueFullPolicy queueFullPolicy = QueueFullPolicy.DROP;
+    private int sampleRate = 10;
+    private int sampleThreshold = 75;
+    private boolean includeCallerData = false;
+    private long maxFlushTime = 1000;
+
+    private LogRingBuffer<ILoggingEvent> ringBuffer;
+    private Thread worker;
+    private volatile boolean running;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for [" + getName() + "]");
+            return;
+        }
+        if (bufferSize < 1) {
+            addError("Invalid bufferSize " + bufferSize);
+            return;
+        }
+
+        ringBuffer = new LogRingBuffer<>(bufferSize);
+        running = true;
+        worker = new Thread(this::drain, "AsyncLog-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Max flush time (" + maxFlushTime + "ms) exceeded. " + ringBuffer.size() + " events discarded");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        prepareOnCallerThread(event);
+
+        switch (queueFullPolicy) {
+            case BLOCK:
+                offerBlocking(event);
+                break;
+            case SAMPLE:
+                offerSampling(event);
+                break;
+            default:
+                offer(event);
+        }
+    }
+
+    /**
+     * 백그라운드 스레드에서 다시 계산하면 값이 달라지는 것만 미리 꺼내둔다. (메시지 포맷팅은 하지 않는다)
+     */
+    private void prepareOnCallerThread(ILoggingEvent event) {
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+    }
+
+    private void offer(ILoggingEvent event) {
+        if (ringBuffer.offer(event)) {
+            enqueuedCount.increment();
+        } else {
+            droppedCount.increment();
+        }
+    }
+
+    private void offerBlocking(ILoggingEvent event) {
+        if (ringBuffer.offer(event)) {
+            enqueuedCount.increment();
+            return;
+        }
+        blockedCount.increment();
+        while (!ringBuffer.offer(event)) {
+            if (!running) {
+                droppedCount.increment();
+                return;
+            }
+            LockSupport.parkNanos(10_000L);
+        }
+        enqueuedCount.increment();
+    }
+
+    private void offerSampling(ILoggingEvent event) {
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+        boolean overThreshold = ringBuffer.size() * 100L >= (long) ringBuffer.capacity() * sampleThreshold;
+        if (!important && overThreshold && sampleSequence.incrementAndGet() % sampleRate != 0) {
+            sampledCount.increment();
+            return;
+        }
+        offer(event);
+    }
+
+    private void drain() {
+        int idle = 0;
+        while (true) {
+            ILoggingEvent event = ringBuffer.poll();
+            if (event != null) {
+                idle = 0;
+                appenders.appendLoopOnAppenders(event);
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            if (++idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1_000L * (idle - SPIN_TRIES + 1)));
+            }
+        }
+    }
+
+    // 설정 (logback-spring.xml)
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setQueueFullPolicy(QueueFullPolicy queueFullPolicy) {
+        this.queueFullPolicy = queueFullPolicy;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void setSampleThreshold(int sampleThreshold) {
+        this.sampleThreshold = sampleThreshold;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setMaxFlushTime(long maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    // 조회 (/internal/logging)
+
+    public QueueFullPolicy getQueueFullPolicy() {
+        return queueFullPolicy;
+    }
+
+    public int getBufferSize() {
+        return ringBuffer != null ? ringBuffer.capacity() : bufferSize;
+    }
+
+    public int getQueueSize() {
+        return ringBuffer != null ? ringBuffer.size() : 0;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    // AppenderAttachable
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,136 @@
+package hello.springmvc.metrics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핸들러 메서드별 요청 1건당 할당 바이트 (hello.metrics.allocation.enabled=true 일 때만)<br>
+ * preHandle ~ afterCompletion 동안 요청 스레드가 할당한 바이트 수를 잰다. (뷰 렌더링, 메시지 컨버터 포함)<br>
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} 는 스레드의 TLAB 할당 카운터를 읽기만 하므로
+ * 프로파일러 없이 운영 중에도 켤 수 있다.<br>
+ * <p>
+ * 다른 스레드가 할당한 것(비동기 처리, 로그 백그라운드 스레드 ...)은 포함되지 않는다.<br>
+ * 가상 스레드처럼 측정을 지원하지 않는 스레드의 요청은 건너뛴다.<br>
+ * 조회: GET /internal/allocation, 등록: {@link hello.springmvc.WebConfig}
+ */
+@Slf4j
+@Component
+public class HandlerAllocationRecorder implements AsyncHandlerInterceptor {
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    private final Map<Method, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StartStack> startBytes = ThreadLocal.withInitial(StartStack::new);
+
+    public HandlerAllocationRecorder(@Value("${hello.metrics.allocation.enabled:false}") boolean enabled) {
+        this.threadMXBean = enabled ? allocationMXBean() : null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean allocationMXBean)
+                || !allocationMXBean.isThreadAllocatedMemorySupported()) {
+            log.warn("hello.metrics.allocation.enabled=true 이지만 이 JVM 은 스레드별 할당 측정을 지원하지 않는다.");
+            return null;
+        }
+        allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationMXBean;
+    }
+
+    public boolean isEnabled() {
+        return threadMXBean != null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            startBytes.get().push(threadMXBean.getCurrentThreadAllocatedBytes());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            record(handlerMethod, startBytes.get().pop());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(handlerMethod, startBytes.get().pop());
+        }
+    }
+
+    private void record(HandlerMethod handlerMethod, long start) {
+        long end = threadMXBean.getCurrentThreadAllocatedBytes();
+        if (start <= 0 || end < start) {
+            return;
+        }
+        HandlerStats stats = handlers.get(handlerMethod.getMethod());
+        if (stats == null) {
+            stats = handlers.computeIfAbsent(handlerMethod.getMethod(), HandlerStats::new);
+        }
+        long allocated = end - start;
+        stats.count.increment();
+        stats.bytes.add(allocated);
+        stats.max.accumulate(allocated);
+    }
+
+    /**
+     * enabled: 측정 여부, handlers: 핸들러 이름순 count, 평균/최대/합계 할당 바이트
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", isEnabled());
+        Map<String, Object> handlerStats = new TreeMap<>();
+        for (HandlerStats stats : handlers.values()) {
+            long count = stats.count.sum();
+            long bytes = stats.bytes.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("bytesPerRequest", count == 0 ? 0 : bytes / count);
+            map.put("maxBytes", stats.max.get());
+            map.put("totalBytes", bytes);
+            handlerStats.put(stats.name, map);
+        }
+        result.put("handlers", handlerStats);
+        return result;
+    }
+
+    public void reset() {
+        for (HandlerStats stats : handlers.values()) {
+            stats.count.reset();
+            stats.bytes.reset();
+            stats.max.reset();
+        }
+    }
+
+    private static class HandlerStats {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        HandlerStats(Method method) {
+            this.name = HandlerLatencyRecorder.handlerName(method);
+        }
+    }
+}
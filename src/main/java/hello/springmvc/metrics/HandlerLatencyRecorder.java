@@ -0,0 +1,114 @@
+package hello.springmvc.metrics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 핸들러 메서드별 지연 시간 기록 (preHandle ~ afterCompletion, 뷰 렌더링 포함)<br>
+ * 핸들러마다 {@link LatencyHistogram} 1개와 에러 카운터를 둔다. (처음 호출될 때 한 번만 만든다)<br>
+ * 시작 시각은 요청 스레드의 ThreadLocal 에 둔다. (요청마다 객체를 만들지 않음)<br>
+ * <p>
+ * errors: 예외 또는 5xx 응답, clientErrors: 4xx 응답<br>
+ * 비동기 요청(DeferredResult, StreamingResponseBody ...)은 요청 스레드가 처리한 구간만 기록한다. (ASYNC 재디스패치는 기록 안 함)<br>
+ * 조회: GET /internal/latency (단위 us), 등록: {@link hello.springmvc.WebConfig} (인터셉터 중 가장 먼저)
+ */
+@Component
+public class HandlerLatencyRecorder implements AsyncHandlerInterceptor {
+
+    private final Map<Method, HandlerStats> handlers = new ConcurrentHashMap<>();
+    private final ThreadLocal<StartStack> startTimes = ThreadLocal.withInitial(StartStack::new);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            startTimes.get().push(System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            record(handlerMethod, startTimes.get().pop(), response.getStatus(), null);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(handlerMethod, startTimes.get().pop(), response.getStatus(), ex);
+        }
+    }
+
+    private void record(HandlerMethod handlerMethod, long start, int status, Exception ex) {
+        if (start == 0) {
+            return;
+        }
+        HandlerStats stats = handlers.get(handlerMethod.getMethod());
+        if (stats == null) {
+            stats = handlers.computeIfAbsent(handlerMethod.getMethod(), HandlerStats::new);
+        }
+        stats.histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        if (ex != null || status >= 500) {
+            stats.errors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    /**
+     * 핸들러 이름(컨트롤러#메서드(파라미터 타입)) 순으로 정렬한 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> result = new TreeMap<>();
+        for (HandlerStats stats : handlers.values()) {
+            Map<String, Object> map = stats.histogram.snapshot().toMap();
+            map.put("errors", stats.errors.sum());
+            map.put("clientErrors", stats.clientErrors.sum());
+            result.put(stats.name, map);
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (HandlerStats stats : handlers.values()) {
+            stats.histogram.reset();
+            stats.errors.reset();
+            stats.clientErrors.reset();
+        }
+    }
+
+    /**
+     * 통계 이름: 컨트롤러#메서드(파라미터 타입)
+     */
+    static String handlerName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static class HandlerStats {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+
+        HandlerStats(Method method) {
+            this.name = handlerName(method);
+        }
+    }
+}
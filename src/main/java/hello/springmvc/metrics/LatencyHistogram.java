@@ -0,0 +1,149 @@
+package hello.springmvc.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고정 메모리, lock-free 지연 시간 히스토그램 (HdrHistogram 방식의 log-linear 버킷)<br>
+ * <p>
+ * 버킷: 0 ~ 31us 는 1us 단위, 그 위로는 2배 구간마다 16개로 나눈다. (상대 오차 약 6% 이하)<br>
+ * 범위: 0 ~ 2^27us (약 134초), 넘는 값은 마지막 버킷에 넣는다. 버킷 수 {@value #BUCKET_COUNT}<br>
+ * <p>
+ * 기록: 스레드 id 로 고른 stripe 의 버킷 하나를 {@link AtomicLongArray#incrementAndGet(int)} (락, 할당 없음)<br>
+ * 조회: 모든 stripe 를 합쳐서 백분위를 계산한다. 기록과 동시에 읽어도 되지만 합계는 그 순간의 근사치다.<br>
+ * 메모리: stripe 수(코어 수, 최대 8) x {@value #BUCKET_COUNT} x 8 bytes (핸들러당 최대 약 24KB)
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT >> 1;
+
+    public static final long MAX_VALUE = (1L << 27) - 1;
+    public static final int BUCKET_COUNT = 384;
+
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * @param micros 지연 시간(us)
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * BUCKET_COUNT + bucketIndex(value));
+        total.add(value);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+    }
+
+    /**
+     * 현재까지 기록을 합친 스냅샷
+     */
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKET_COUNT];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int offset = stripe * BUCKET_COUNT;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] += counts.get(offset + i);
+            }
+        }
+        return new Snapshot(merged, total.sum());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        return (shift << (SUB_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index >> (SUB_BITS - 1)) - 1;
+        return (long) ((index & (HALF_COUNT - 1)) + HALF_COUNT) << shift;
+    }
+
+    static long upperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : MAX_VALUE;
+    }
+
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long total;
+
+        Snapshot(long[] counts, long total) {
+            this.counts = counts;
+            long count = 0;
+            for (long bucket : counts) {
+                count += bucket;
+            }
+            this.count = count;
+            this.total = total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * @param percentile 0 ~ 100 (예: 99.9)
+         * @return 해당 백분위가 들어있는 버킷의 상한(us), 기록이 없으면 0
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return MAX_VALUE;
+        }
+
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * JSON 응답용 (단위 us)
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("mean", Math.round(getMean() * 10) / 10.0);
+            map.put("p50", getValueAtPercentile(50));
+            map.put("p90", getValueAtPercentile(90));
+            map.put("p99", getValueAtPercentile(99));
+            map.put("p999", getValueAtPercentile(99.9));
+            map.put("max", getMax());
+            return map;
+        }
+    }
+}
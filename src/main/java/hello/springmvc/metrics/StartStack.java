@@ -0,0 +1,31 @@
+package hello.springmvc.metrics;
+
+/**
+ * 요청 스레드별 시작 값(시각, 할당 바이트 ...) 스택, ThreadLocal 에 하나씩 둔다.<br>
+ * forward 처럼 같은 스레드에서 요청이 중첩되어도 짝이 맞는다. 0 은 "기록 안 함"
+ */
+class StartStack {
+
+    /**
+     * 같은 스레드에서 중첩되는 요청까지 허용하는 깊이
+     */
+    private static final int MAX_DEPTH = 8;
+
+    private final long[] starts = new long[MAX_DEPTH];
+    private int depth;
+
+    void push(long start) {
+        if (depth < MAX_DEPTH) {
+            starts[depth] = start;
+        }
+        depth++;
+    }
+
+    long pop() {
+        if (depth == 0) {
+            return 0;
+        }
+        depth--;
+        return depth < MAX_DEPTH ? starts[depth] : 0;
+    }
+}
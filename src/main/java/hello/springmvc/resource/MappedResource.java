@@ -0,0 +1,167 @@
+package hello.springmvc.resource;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 시작할 때 한 번 읽어 둔 정적 파일 (읽기 전용)<br>
+ * <p>
+ * 내용: 파일 시스템의 파일은 {@link FileChannel#map} (mmap), jar 안의 파일은 direct 버퍼에 한 번 복사한다.<br>
+ * 작은 파일(64KB 미만)은 mmap 하지 않고 direct 버퍼로 읽는다. (파일마다 페이지 / 매핑 1개씩 쓰지 않도록)<br>
+ * 어느 쪽이든 힙 밖 메모리라서 큰 파일도 힙 크기, GC 와 관계없다.<br>
+ * <p>
+ * ETag, Last-Modified, Content-Length, Content-Type 은 여기서 미리 계산한다. (요청마다 파일 stat X)<br>
+ * ETag 는 nginx 와 같은 "수정시각-길이" 강한 ETag 이다. (내용 해시를 위해 큰 파일 전체를 읽지 않는다)
+ */
+public final class MappedResource {
+
+    static final int MAP_THRESHOLD = 64 * 1024;
+
+    private final String path;
+    private final ByteBuffer content;
+    private final File file;
+    private final MediaType mediaType;
+    private final long lastModified;
+    private final String etag;
+    private MappedResource gzip;
+
+    private MappedResource(String path, ByteBuffer content, File file, MediaType mediaType, long lastModified) {
+        this.path = path;
+        this.content = content.asReadOnlyBuffer();
+        this.file = file;
+        this.mediaType = mediaType;
+        this.lastModified = lastModified;
+        this.etag = "\"" + Long.toHexString(lastModified / 1000) + "-" + Long.toHexString(content.remaining()) + "\"";
+    }
+
+    /**
+     * @param path 요청 경로 (예: /basic/hello-form.html)
+     */
+    static MappedResource load(String path, Resource resource) throws IOException {
+        MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        long lastModified = lastModified(resource);
+        if (resource.isFile()) {
+            File file = resource.getFile();
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long size = checkSize(path, channel.size());
+                ByteBuffer content = size < MAP_THRESHOLD
+                        ? read(channel, (int) size)
+                        : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return new MappedResource(path, content, file, mediaType, lastModified);
+            }
+        }
+        long size = checkSize(path, resource.contentLength());
+        try (InputStream in = resource.getInputStream(); ReadableByteChannel channel = Channels.newChannel(in)) {
+            return new MappedResource(path, read(channel, (int) size), null, mediaType, lastModified);
+        }
+    }
+
+    private static ByteBuffer read(ReadableByteChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                throw new IOException("unexpected end of resource: " + size + " bytes expected");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * ByteBuffer 하나에 담을 수 있는 크기(2GB 미만)만 읽는다. 더 큰 파일은 스프링 기본 리소스 핸들러가 응답한다.
+     */
+    private static long checkSize(String path, long size) throws IOException {
+        if (size >= Integer.MAX_VALUE) {
+            throw new IOException("too large to map: " + path + " (" + size + " bytes)");
+        }
+        return size;
+    }
+
+    /**
+     * HTTP 날짜는 초 단위라서 밀리초는 버린다. (If-Modified-Since 비교가 어긋나지 않도록)
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified() / 1000 * 1000;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 요청마다 duplicate / slice 해서 쓴다. (내용 복사 없이 position, limit 만 따로)
+     */
+    ByteBuffer getContent() {
+        return content;
+    }
+
+    /**
+     * 파일 시스템의 파일이면 Tomcat sendfile 로 보낼 수 있다. jar 안의 파일이면 null
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * 파일이 읽어 둔 때와 같은지 (길이, 수정시각)<br>
+     * sendfile 은 보내는 시점의 파일 내용을 보내므로, 파일이 바뀌었으면 미리 계산한 ETag / Content-Length 와 맞지 않는다.
+     */
+    boolean isFileUnchanged() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return attributes.size() == getContentLength()
+                    && attributes.lastModifiedTime().toMillis() / 1000 * 1000 == lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public long getContentLength() {
+        return content.capacity();
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isMapped() {
+        return content.isDirect() && file != null && content.capacity() >= MAP_THRESHOLD;
+    }
+
+    /**
+     * 빌드할 때 만든 .gz 파일 (없으면 null)
+     */
+    MappedResource getGzip() {
+        return gzip;
+    }
+
+    void setGzip(MappedResource gzip) {
+        this.gzip = gzip;
+    }
+}
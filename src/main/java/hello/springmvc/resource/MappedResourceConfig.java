@@ -0,0 +1,38 @@
+package hello.springmvc.resource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 정적 파일 mmap 모드 (hello.static-resources.mapped.enabled=true)<br>
+ * 시작할 때 읽은 파일 경로만 {@link MappedResourceHandler} 로 연결한다.<br>
+ * 순서 1: 컨트롤러(@RequestMapping, 0) 다음, 스프링 기본 리소스 핸들러(/**) 보다 앞<br>
+ * 시작 후에 추가된 파일, 2GB 이상 파일은 기존처럼 스프링 기본 리소스 핸들러가 응답한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.static-resources.mapped.enabled", havingValue = "true")
+public class MappedResourceConfig {
+
+    @Bean
+    public MappedResourceHandler mappedResourceHandler(ResourceLoader resourceLoader,
+                                                       @Value("${hello.static-resources.mapped.location:classpath:static/}") String location)
+            throws IOException {
+        return MappedResourceHandler.scan(ResourcePatternUtils.getResourcePatternResolver(resourceLoader), location);
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping mappedResourceHandlerMapping(MappedResourceHandler mappedResourceHandler) {
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        mappedResourceHandler.getResources().keySet().forEach(path -> urlMap.put(path, mappedResourceHandler));
+        return new SimpleUrlHandlerMapping(urlMap, 1);
+    }
+}
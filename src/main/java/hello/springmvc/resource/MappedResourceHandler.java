@@ -0,0 +1,253 @@
+package hello.springmvc.resource;
+
+import hello.springmvc.basic.io.BufferPool;
+import hello.springmvc.compression.CompressionFilter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponseWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MappedResource} 로 정적 파일 응답 (GET, HEAD)<br>
+ * <p>
+ * - If-None-Match / If-Modified-Since: 미리 계산한 ETag, Last-Modified 로 304<br>
+ * - Range: bytes 범위 1개만 206 (If-Range 가 맞을 때), 범위를 벗어나면 416, 범위가 여러 개면 전체를 200 으로 응답<br>
+ * - Accept-Encoding: gzip 이고 .gz 파일이 있으면 .gz 내용을 Content-Encoding: gzip 으로 응답 (Range 요청은 원본)<br>
+ * <p>
+ * 보내는 방법 (요청마다 힙 byte[] 복사를 하지 않는 순서)<br>
+ * 1. 파일 시스템의 큰 파일 + 응답을 감싼 필터가 없음 -> Tomcat sendfile (커널이 파일 -> 소켓 직접 전송)<br>
+ * 시작한 뒤 파일이 바뀌었으면(길이, 수정시각) sendfile 대신 읽어 둔 내용을 보낸다. (헤더와 내용이 같은 파일이도록)<br>
+ * 2. Tomcat 출력 스트림 -> {@link CoyoteOutputStream#write(ByteBuffer)} 로 버퍼를 그대로 넘긴다.<br>
+ * 3. 그 외(MockMvc, 응답 래퍼) -> {@link BufferPool} 버퍼로 나누어 쓴다.
+ */
+@Slf4j
+public class MappedResourceHandler implements HttpRequestHandler {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    /**
+     * Tomcat 커넥터 기본 sendfileSize(48KB) 와 같다. 작은 파일은 소켓 버퍼로 한 번에 쓰는 것이 더 빠르다.
+     */
+    private static final int SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private final Map<String, MappedResource> resources;
+
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder gzip = new LongAdder();
+    private final LongAdder sendfile = new LongAdder();
+
+    public MappedResourceHandler(Map<String, MappedResource> resources) {
+        this.resources = Collections.unmodifiableMap(resources);
+    }
+
+    /**
+     * location(예: classpath:static/) 아래 파일을 모두 읽는다.<br>
+     * classpath 에 같은 경로가 여러 개면 앞의 것만 쓴다. (스프링 기본 리소스 핸들러와 같음)<br>
+     * x.gz 는 x 가 있으면 x 의 gzip 내용으로 붙이고, 없으면 그 자체로 응답한다.
+     */
+    public static MappedResourceHandler scan(ResourcePatternResolver resolver, String location) throws IOException {
+        String pattern = location.replaceFirst("^classpath:", ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX);
+        Map<String, MappedResource> resources = new LinkedHashMap<>();
+        for (Resource root : resolver.getResources(pattern)) {
+            String rootUrl = root.getURL().toString();
+            for (Resource resource : resolver.getResources(rootUrl + "**")) {
+                String url = resource.getURL().toString();
+                if (url.endsWith("/") || !resource.isReadable()) {
+                    continue;
+                }
+                String path = "/" + UriUtils.decode(url.substring(rootUrl.length()), StandardCharsets.UTF_8);
+                if (resources.containsKey(path)) {
+                    continue;
+                }
+                try {
+                    resources.put(path, MappedResource.load(path, resource));
+                } catch (IOException e) {
+                    log.warn("static resource {} is left to the default resource handler: {}", path, e.getMessage());
+                }
+            }
+        }
+
+        resources.values().removeIf(resource -> {
+            String path = resource.getPath();
+            MappedResource original = path.endsWith(".gz") ? resources.get(path.substring(0, path.length() - 3)) : null;
+            if (original == null) {
+                return false;
+            }
+            original.setGzip(resource);
+            return true;
+        });
+        log.info("mapped {} static resources from {}", resources.size(), location);
+        return new MappedResourceHandler(resources);
+    }
+
+    public Map<String, MappedResource> getResources() {
+        return resources;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MappedResource resource = resources.get((String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE));
+        if (resource == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+        if (!head && !HttpMethod.GET.matches(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        MappedResource selected = resource;
+        if (resource.getGzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (range == null && CompressionFilter.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                selected = resource.getGzip();
+            }
+        }
+
+        if (new ServletWebRequest(request, response).checkNotModified(selected.getEtag(), selected.getLastModified())) {
+            notModified.increment();
+            return;
+        }
+        response.setContentType(resource.getMediaType().toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (selected != resource) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            gzip.increment();
+        }
+
+        long length = selected.getContentLength();
+        if (range != null && ifRangeMatches(request, selected)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                long start = -1;
+                long end = -1;
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = Math.min(ranges.get(0).getRangeEnd(length), length - 1);
+                } catch (IllegalArgumentException e) {
+                    // 시작 위치가 파일 길이 이상
+                }
+                if (start < 0 || start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                partial.increment();
+                write(selected, start, end - start + 1, head, request, response);
+                return;
+            }
+        }
+        ok.increment();
+        write(selected, 0, length, head, request, response);
+    }
+
+    /**
+     * If-Range 가 없거나, 현재 ETag / Last-Modified 와 같을 때만 Range 를 적용한다. (다르면 전체 응답)
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, MappedResource resource) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(resource.getEtag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == resource.getLastModified();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void write(MappedResource resource, long start, long count, boolean head,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(count);
+        if (head || count == 0) {
+            return;
+        }
+        if (resource.getFile() != null && count >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                && !(response instanceof ServletResponseWrapper)
+                && resource.isFileUnchanged()) {
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            sendfile.increment();
+            return;
+        }
+
+        ByteBuffer body = resource.getContent().slice((int) start, (int) count);
+        ServletOutputStream out = response.getOutputStream();
+        if (out instanceof CoyoteOutputStream coyote) {
+            coyote.write(body);
+            return;
+        }
+        byte[] buffer = BufferPool.shared().acquire();
+        try {
+            while (body.hasRemaining()) {
+                int n = Math.min(buffer.length, body.remaining());
+                body.get(buffer, 0, n);
+                out.write(buffer, 0, n);
+            }
+        } finally {
+            BufferPool.shared().release(buffer);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long totalBytes = 0;
+        long mappedBytes = 0;
+        for (MappedResource resource : resources.values()) {
+            totalBytes += resource.getContentLength();
+            mappedBytes += resource.isMapped() ? resource.getContentLength() : 0;
+            if (resource.getGzip() != null) {
+                totalBytes += resource.getGzip().getContentLength();
+                mappedBytes += resource.getGzip().isMapped() ? resource.getGzip().getContentLength() : 0;
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("resources", resources.size());
+        stats.put("totalBytes", totalBytes);
+        stats.put("mappedBytes", mappedBytes);
+        stats.put("ok", ok.sum());
+        stats.put("notModified", notModified.sum());
+        stats.put("partial", partial.sum());
+        stats.put("gzip", gzip.sum());
+        stats.put("sendfile", sendfile.sum());
+        return stats;
+    }
+}
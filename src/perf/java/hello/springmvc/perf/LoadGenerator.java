@@ -0,0 +1,292 @@
+package hello.springmvc.perf;
+
+import hello.springmvc.metrics.LatencyHistogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 단일 노드 포화 지점 측정용 부하 발생기 (open-loop)<br>
+ * 애플리케이션을 같은 JVM 에서 띄우고(server.port=0), 라우트 묶음(mix)을 가중치대로 섞어서 보낸다.<br>
+ * <p>
+ * open-loop: 요청 i 의 예정 시각 = 시작 + i / rate, 응답이 늦어도 다음 요청의 예정 시각은 밀리지 않는다.<br>
+ * 지연 시간은 예정 시각부터 잰다. (coordinated omission 보정, 클라이언트 스레드가 모자라 늦게 보낸 시간도 포함)<br>
+ * 조합(cores x threads x rates)마다 warmup 초 동안 보내고 버린 뒤 duration 초 측정한다.<br>
+ * cores: 코어 수마다 자식 JVM 을 -XX:ActiveProcessorCount=N 으로 띄운다. 리눅스에 taskset 이 있으면 CPU 0 ~ N-1 에 고정한다.
+ * (부하 발생 스레드도 같은 코어를 쓰므로 절대값보다 코어 수에 따른 변화를 본다)<br>
+ * <p>
+ * 출력: 코어, 클라이언트 스레드, 목표 / 실제 req/s, 오류, p50 / p90 / p99 / p99.9 / max(ms), 요청당 서버 CPU(us), 포화 여부<br>
+ * 서버 CPU = 프로세스 CPU - 부하 발생 스레드 CPU (HttpClient selector 스레드 몫은 서버 쪽에 들어가는 근사치)<br>
+ * 포화: 실제 처리량이 목표의 95% 미만, p99 가 sloMillis 초과, 오류 중 하나<br>
+ * <p>
+ * 옵션: --mix=orders:3,json-v5:2,headers:1,view-v2:1 --rates=500,1000,2000,4000 --threads=1,4,16 --cores=1,2,4
+ * --duration=10 --warmup=3 --sloMillis=50 --csv=build/reports/load/load.csv<br>
+ * --target=http://localhost:8081: 애플리케이션을 띄우지 않고 이미 떠 있는 서버에 보낸다. (스프링 MVC vs webflux/ 모듈 비교)<br>
+ * 이때 cores 는 부하 발생기 JVM 만 제한하고, cpu(us)/req 는 서버가 아닌 부하 발생기 프로세스 값이므로 보지 않는다. (서버 CPU 는 서버 쪽에서 따로 본다)<br>
+ * 두 구현에 다 있는 라우트: orders, json-v5, json-async, json-response-v2, hello, users<br>
+ * 라우트 이름: {@link #ROUTES}
+ */
+public class LoadGenerator {
+
+    static final Map<String, Route> ROUTES = new LinkedHashMap<>();
+
+    static {
+        ROUTES.put("orders", Route.get("/mapping/users/userA/orders/100"));
+        ROUTES.put("json-v5", Route.post("/request-body-json-v5", "application/json", "{\"username\":\"userA\",\"age\":20}"));
+        ROUTES.put("json-async", Route.post("/request-body-json-async", "application/json", "{\"username\":\"userA\",\"age\":20}"));
+        ROUTES.put("headers", Route.get("/headers", "Cookie", "myCookie=hello", "Accept-Language", "ko-KR"));
+        ROUTES.put("headers-v2", Route.get("/headers-v2", "Cookie", "myCookie=hello", "Accept-Language", "ko-KR"));
+        ROUTES.put("view-v2", Route.get("/response-view-v2"));
+        ROUTES.put("param-v2", Route.get("/request-param-v2?username=userA&age=20"));
+        ROUTES.put("json-response-v2", Route.get("/response-body-json-v2"));
+        ROUTES.put("hello", Route.get("/hello-basic"));
+        ROUTES.put("users", Route.get("/mapping/users"));
+    }
+
+    private static final String HEADER_FORMAT = "%5s %7s %9s %9s %7s %8s %8s %8s %8s %8s %10s %s%n";
+    private static final String ROW_FORMAT = "%5d %7d %9d %9.1f %7d %8.2f %8.2f %8.2f %8.2f %8.2f %10.1f %s%n";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = SlowClientBenchmark.parseOptions(args);
+        Path csv = options.containsKey("csv") ? Path.of(options.get("csv")) : null;
+        boolean child = options.containsKey("child");
+
+        if (!child) {
+            System.out.printf(HEADER_FORMAT, "cores", "threads", "target/s", "actual/s", "errors",
+                    "p50", "p90", "p99", "p99.9", "max(ms)", "cpu(us)/req", "");
+            if (csv != null) {
+                Files.createDirectories(csv.toAbsolutePath().getParent());
+                Files.writeString(csv, "cores,threads,target,actual,errors,p50,p90,p99,p999,max,cpuMicrosPerRequest,saturated\n");
+            }
+        }
+
+        if (options.containsKey("cores") && !child) {
+            for (String cores : options.get("cores").split(",")) {
+                forkChild(Integer.parseInt(cores), args);
+            }
+            return;
+        }
+
+        Route[] schedule = schedule(options.getOrDefault("mix", "orders:3,json-v5:2,headers:1,view-v2:1"));
+        int[] rates = ints(options.getOrDefault("rates", "500,1000,2000,4000"));
+        int[] threads = ints(options.getOrDefault("threads", "1,4,16"));
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "10"))).toNanos();
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "3"))).toNanos();
+        long sloMicros = Long.parseLong(options.getOrDefault("sloMillis", "50")) * 1000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (ConfigurableApplicationContext context = options.containsKey("target") ? null : SlowClientBenchmark.start(false)) {
+            URI base = context == null ? URI.create(options.get("target"))
+                    : URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest[] requests = Arrays.stream(schedule).map(route -> route.toRequest(base)).toArray(HttpRequest[]::new);
+
+            for (int threadCount : threads) {
+                Result lastStable = null;
+                for (int rate : rates) {
+                    run(client, requests, threadCount, rate, warmupNanos);
+                    Result result = run(client, requests, threadCount, rate, durationNanos);
+                    boolean saturated = result.saturated(rate, sloMicros);
+                    print(cores, threadCount, rate, result, saturated, csv);
+                    if (saturated) {
+                        break;
+                    }
+                    lastStable = result;
+                }
+                System.out.printf("=> cores=%d threads=%d 최대 안정 처리량 %s%n", cores, threadCount,
+                        lastStable == null ? "없음 (가장 낮은 목표에서 포화)" : String.format("%.1f req/s", lastStable.throughput()));
+            }
+        }
+    }
+
+    /**
+     * 목표 rate(req/s) 로 durationNanos 동안 보낸다. (요청 순서는 schedule 을 반복)
+     */
+    static Result run(HttpClient client, HttpRequest[] requests, int threads, int rate, long durationNanos) throws InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        LongAdder clientCpuNanos = new LongAdder();
+        AtomicLong next = new AtomicLong();
+        double intervalNanos = 1e9 / rate;
+
+        long processCpuStart = processCpuTime();
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+                while (true) {
+                    long i = next.getAndIncrement();
+                    long intended = start + (long) (i * intervalNanos);
+                    if (intended >= end || System.nanoTime() >= end) {
+                        //포화되어 밀린 요청은 측정 구간이 끝나면 보내지 않는다. (처리량 미달로 드러남)
+                        break;
+                    }
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    try {
+                        HttpResponse<Void> response = client.send(requests[(int) (i % requests.length)], HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    histogram.record((System.nanoTime() - intended) / 1000);
+                }
+                clientCpuNanos.add(threadMXBean.getCurrentThreadCpuTime() - cpuStart);
+            }, "load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long serverCpuNanos = processCpuTime() - processCpuStart - clientCpuNanos.sum();
+        return new Result(histogram.snapshot(), errors.sum(), elapsedNanos, Math.max(0, serverCpuNanos));
+    }
+
+    private static void print(int cores, int threads, int rate, Result result, boolean saturated, Path csv) throws IOException {
+        LatencyHistogram.Snapshot latency = result.latency();
+        double[] millis = {
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(90) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMax() / 1000.0
+        };
+        System.out.printf(ROW_FORMAT, cores, threads, rate, result.throughput(), result.errors(),
+                millis[0], millis[1], millis[2], millis[3], millis[4], result.cpuMicrosPerRequest(), saturated ? "포화" : "");
+        if (csv != null) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                writer.printf("%d,%d,%d,%.1f,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.1f,%b%n", cores, threads, rate, result.throughput(),
+                        result.errors(), millis[0], millis[1], millis[2], millis[3], millis[4], result.cpuMicrosPerRequest(), saturated);
+            }
+        }
+    }
+
+    /**
+     * 코어 수 N 으로 제한한 자식 JVM 에서 같은 옵션으로 측정한다. (출력은 그대로 이어 붙음)
+     */
+    private static void forkChild(int cores, String[] args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        if (cores <= Runtime.getRuntime().availableProcessors() && Files.isExecutable(Path.of("/usr/bin/taskset"))) {
+            command.addAll(List.of("/usr/bin/taskset", "-c", "0-" + (cores - 1)));
+        }
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-XX:ActiveProcessorCount=" + cores);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), LoadGenerator.class.getName()));
+        command.addAll(Arrays.asList(args));
+        command.add("--child");
+
+        int exit = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exit != 0) {
+            System.out.printf("cores=%d 측정 실패 (exit=%d)%n", cores, exit);
+        }
+    }
+
+    /**
+     * "orders:3,json-v5:1" -> 가중치만큼 반복한 라우트를 고정 seed 로 섞은 순서
+     */
+    static Route[] schedule(String mix) {
+        List<Route> schedule = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.split(":");
+            Route route = ROUTES.get(nameAndWeight[0]);
+            if (route == null) {
+                throw new IllegalArgumentException("알 수 없는 라우트: " + nameAndWeight[0] + ", 가능한 값: " + ROUTES.keySet());
+            }
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1]) : 1;
+            schedule.addAll(Collections.nCopies(weight, route));
+        }
+        Collections.shuffle(schedule, new Random(42));
+        return schedule.toArray(Route[]::new);
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static long processCpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    record Route(String method, String path, String contentType, String body, String[] headers) {
+
+        static Route get(String path, String... headers) {
+            return new Route("GET", path, null, null, headers);
+        }
+
+        static Route post(String path, String contentType, String body) {
+            return new Route("POST", path, contentType, body, new String[0]);
+        }
+
+        HttpRequest toRequest(URI base) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .method(method, body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+            if (contentType != null) {
+                builder.header("Content-Type", contentType);
+            }
+            if (headers.length > 0) {
+                builder.headers(headers);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * @param elapsedNanos    첫 요청 예정 시각부터 마지막 응답까지
+     * @param serverCpuNanos  측정 구간의 프로세스 CPU - 부하 발생 스레드 CPU
+     */
+    record Result(LatencyHistogram.Snapshot latency, long errors, long elapsedNanos, long serverCpuNanos) {
+
+        double throughput() {
+            return latency.getCount() * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        double cpuMicrosPerRequest() {
+            return latency.getCount() == 0 ? 0 : serverCpuNanos / 1000.0 / latency.getCount();
+        }
+
+        boolean saturated(int rate, long sloMicros) {
+            return errors > 0 || throughput() < rate * 0.95 || latency.getValueAtPercentile(99) > sloMicros;
+        }
+    }
+}
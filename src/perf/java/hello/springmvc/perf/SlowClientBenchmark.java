@@ -0,0 +1,339 @@
+package hello.springmvc.perf;
+
+import hello.springmvc.SpringmvcApplication;
+import hello.springmvc.metrics.LatencyHistogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 클라이언트(slow uploader) 동시 접속 벤치마크 (open-loop)<br>
+ * 애플리케이션을 같은 JVM 에서 플랫폼 스레드 모드, 가상 스레드 모드로 차례로 띄운다.<br>
+ * <p>
+ * 업로드 1건: 접속 -> 헤더 -> 바디를 chunks 번에 나눠 chunkInterval 간격으로 조금씩 보낸다. (업로드 시간 = chunks x chunkInterval)<br>
+ * 도착: duration 초 동안 새 업로드가 clients / 업로드 시간 (건/s) 으로 계속 들어온다. 서버가 제때 처리하면 동시 업로드는 약 clients 개다.<br>
+ * 업로드마다 자기 도착 시각을 기준으로 chunk 를 보낸다. (모두 같이 접속하고 같이 보내고 같이 기다리지 않는다)<br>
+ * 응답은 업로드가 진행되는 동안에도 계속 읽는다. 지연 시간은 도착 예정 시각부터 응답을 끝까지 받은 시각까지 잰다.
+ * (업로드 시간 포함이므로 최소값은 업로드 시간, 서버가 늦게 받아 준 시간도 포함)<br>
+ * 클라이언트는 selector 스레드 1개로 모든 연결을 다루므로 최대 스레드 수는 거의 서버 스레드 수다.<br>
+ * <p>
+ * 블로킹 방식 핸들러(request-body-string-v1 등)는 바디를 다 받을 때까지 요청 스레드를 붙잡고 있으므로,
+ * 플랫폼 스레드 모드에서는 톰캣 스레드 풀 크기(기본 200) / 업로드 시간이 처리량의 상한이 되고 나머지는 기다리면서 지연 시간이 늘어난다.<br>
+ * non-blocking 읽기 핸들러(request-body-string-async)는 바이트가 도착했을 때만 스레드를 쓰므로 플랫폼 스레드 모드에서도 상한이 없다.
+ * (./gradlew asyncBodyBenchmark: v1 과 async 를 같은 조건으로 비교)
+ * <p>
+ * 출력: 목표 동시 업로드, 도착률(req/s), 도착 / 완료 / 실패 요청 수, 처리량(req/s), 지연 p50 / p99 / max(ms), JVM 최대 스레드 수, 힙 사용량<br>
+ * 옵션: --clients=1000,10000 --path=/request-body-string-v1 --duration=10 --chunks=10 --chunkSize=16 --chunkInterval=100 --modes=platform,virtual<br>
+ * 도착이 끝난 뒤 업로드 시간 + 60초 안에 응답을 받지 못한 요청은 실패로 센다.<br>
+ * 클라이언트 10000 개 이상이면 OS 파일 디스크립터 한도(ulimit -n)를 먼저 늘려야 한다.
+ */
+public class SlowClientBenchmark {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final String HEADER_FORMAT = "%-9s %-32s %8s %8s %9s %10s %7s %9s %9s %9s %9s %12s %9s%n";
+    private static final String ROW_FORMAT = "%-9s %-32s %8d %8.1f %9d %10d %7d %9.1f %9.1f %9.1f %9.1f %12d %9d%n";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int[] clients = Arrays.stream(options.getOrDefault("clients", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        List<String> paths = Arrays.asList(options.getOrDefault("path", "/request-body-string-v1").split(","));
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual").split(","));
+        long duration = Long.parseLong(options.getOrDefault("duration", "10"));
+        int chunks = Integer.parseInt(options.getOrDefault("chunks", "10"));
+        int chunkSize = Integer.parseInt(options.getOrDefault("chunkSize", "16"));
+        long chunkInterval = Long.parseLong(options.getOrDefault("chunkInterval", "100"));
+
+        System.out.printf("upload: %d chunks x %d bytes, every %d ms (%d ms per upload), arrivals for %d s%n",
+                chunks, chunkSize, chunkInterval, chunks * chunkInterval, duration);
+        System.out.printf(HEADER_FORMAT, "mode", "path", "clients", "rate/s", "requests", "completed", "failed",
+                "req/s", "p50(ms)", "p99(ms)", "max(ms)", "peakThreads", "heap(MB)");
+
+        for (String mode : modes) {
+            boolean virtual = mode.equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("virtual   skipped: Java 21 이상이 필요하다. java.version=" + System.getProperty("java.version"));
+                continue;
+            }
+
+            for (String path : paths) {
+                for (int n : clients) {
+                    //톰캣은 늘어난 요청 스레드를 한동안 유지하므로 조합마다 새로 띄운다. (앞 조합의 스레드 수가 섞이지 않도록)
+                    try (ConfigurableApplicationContext context = start(virtual)) {
+                        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                        Result result = new SlowUploads(port, path, n, duration, chunks, chunkSize, chunkInterval).run();
+                        LatencyHistogram.Snapshot latency = result.latency();
+                        System.out.printf(ROW_FORMAT, mode, path, n, result.arrivalRate(), result.requests(),
+                                result.completed(), result.failed(),
+                                result.completed() * 1_000_000_000.0 / Math.max(1, result.elapsedNanos()),
+                                latency.getValueAtPercentile(50) / 1000.0,
+                                latency.getValueAtPercentile(99) / 1000.0,
+                                latency.getMax() / 1000.0,
+                                result.peakThreads(), result.heapUsedMegabytes());
+                    }
+                }
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext start(boolean virtual, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "hello.threads.virtual=" + virtual,
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000",
+                "logging.level.root=warn",
+                "logging.level.hello.springmvc=warn"));
+        properties.addAll(Arrays.asList(extraProperties));
+        return new SpringApplicationBuilder(SpringmvcApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 한 번의 측정 (path, clients 조합 1개), selector 스레드 1개에서만 쓴다.
+     */
+    private static final class SlowUploads {
+
+        private final InetSocketAddress address;
+        private final byte[] head;
+        private final byte[] chunk;
+        private final int chunks;
+        private final long chunkIntervalNanos;
+        private final long arrivalIntervalNanos;
+        private final int requests;
+
+        private final PriorityQueue<Upload> writes = new PriorityQueue<>(Comparator.comparingLong(Upload::nextWriteAt));
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private int completed;
+        private int failed;
+
+        SlowUploads(int port, String path, int clients, long durationSeconds, int chunks, int chunkSize, long chunkInterval) {
+            if (clients < 1 || chunks < 1) {
+                throw new IllegalArgumentException("clients, chunks must be positive");
+            }
+            this.address = new InetSocketAddress("localhost", port);
+            this.head = ("POST " + path + " HTTP/1.1\r\n" +
+                    "Host: localhost\r\n" +
+                    "Content-Type: text/plain\r\n" +
+                    "Content-Length: " + ((long) chunkSize * chunks) + "\r\n" +
+                    "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            this.chunk = "a".repeat(chunkSize).getBytes(StandardCharsets.US_ASCII);
+            this.chunks = chunks;
+            this.chunkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(chunkInterval);
+            this.arrivalIntervalNanos = Math.max(1, chunkIntervalNanos * chunks / clients);
+            this.requests = (int) Math.min(Integer.MAX_VALUE, TimeUnit.SECONDS.toNanos(durationSeconds) / arrivalIntervalNanos);
+        }
+
+        Result run() throws IOException {
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            threadMXBean.resetPeakThreadCount();
+
+            long start = System.nanoTime();
+            long deadline = start + requests * arrivalIntervalNanos + chunks * chunkIntervalNanos + DRAIN_TIMEOUT_NANOS;
+            int arrived = 0;
+            try (Selector selector = Selector.open()) {
+                while ((arrived < requests || completed + failed < arrived) && System.nanoTime() < deadline) {
+                    long now = System.nanoTime();
+                    while (arrived < requests && start + arrived * arrivalIntervalNanos <= now) {
+                        connect(selector, start + arrived * arrivalIntervalNanos);
+                        arrived++;
+                    }
+                    while (!writes.isEmpty() && writes.peek().nextWriteAt <= now) {
+                        sendChunk(writes.poll());
+                    }
+
+                    long next = Math.min(arrived < requests ? start + arrived * arrivalIntervalNanos : deadline,
+                            writes.isEmpty() ? deadline : writes.peek().nextWriteAt);
+                    long waitMillis = TimeUnit.NANOSECONDS.toMillis(next - System.nanoTime());
+                    if (waitMillis > 0) {
+                        selector.select(waitMillis);
+                    } else {
+                        selector.selectNow();
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Upload upload = (Upload) key.attachment();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isConnectable()) {
+                            connected(key, upload);
+                        } else if (key.isReadable()) {
+                            read(upload);
+                        }
+                    }
+                }
+                //시간 안에 응답을 받지 못한 요청
+                for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                    finish((Upload) key.attachment(), false);
+                }
+            }
+            failed += requests - arrived;
+            long elapsedNanos = System.nanoTime() - start;
+
+            long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+            double arrivalRate = 1_000_000_000.0 / arrivalIntervalNanos;
+            return new Result(arrivalRate, requests, completed, failed, elapsedNanos, latency.snapshot(),
+                    threadMXBean.getPeakThreadCount(), heapUsed);
+        }
+
+        private void connect(Selector selector, long arrivedAt) {
+            Upload upload = new Upload(arrivedAt);
+            try {
+                upload.channel = SocketChannel.open();
+                upload.channel.configureBlocking(false);
+                upload.channel.connect(address);
+                upload.channel.register(selector, SelectionKey.OP_CONNECT, upload);
+            } catch (IOException e) {
+                finish(upload, false);
+            }
+        }
+
+        /**
+         * 헤더를 보내고, 첫 chunk 는 자기 도착 시각 + chunkInterval 에 보낸다.
+         */
+        private void connected(SelectionKey key, Upload upload) {
+            try {
+                upload.channel.finishConnect();
+            } catch (IOException e) {
+                finish(upload, false);
+                return;
+            }
+            if (!write(upload, head)) {
+                finish(upload, false);
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            upload.nextWriteAt = upload.arrivedAt + chunkIntervalNanos;
+            writes.add(upload);
+        }
+
+        private void sendChunk(Upload upload) {
+            if (upload.done) {
+                //413, 503 처럼 바디를 다 보내기 전에 응답하고 닫은 요청
+                return;
+            }
+            if (!write(upload, chunk)) {
+                finish(upload, false);
+                return;
+            }
+            if (++upload.sent < chunks) {
+                upload.nextWriteAt += chunkIntervalNanos;
+                writes.add(upload);
+            }
+        }
+
+        /**
+         * chunk 는 소켓 송신 버퍼보다 작으므로 한 번에 다 써지지 않으면 서버가 읽지 않는 것으로 보고 실패로 센다.
+         */
+        private static boolean write(Upload upload, byte[] bytes) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                upload.channel.write(buffer);
+                return !buffer.hasRemaining();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Connection: close, 서버가 닫을 때까지 읽는다. 상태 코드는 첫 줄("HTTP/1.1 200")에서 본다.
+         */
+        private void read(Upload upload) {
+            int n;
+            do {
+                readBuffer.clear();
+                try {
+                    n = upload.channel.read(readBuffer);
+                } catch (IOException e) {
+                    finish(upload, false);
+                    return;
+                }
+                readBuffer.flip();
+                while (readBuffer.hasRemaining() && upload.statusLength < upload.statusLine.length) {
+                    upload.statusLine[upload.statusLength++] = readBuffer.get();
+                }
+            } while (n > 0);
+            if (n == -1) {
+                finish(upload, upload.statusLength == upload.statusLine.length && upload.statusLine[9] == '2');
+            }
+        }
+
+        private void finish(Upload upload, boolean ok) {
+            if (upload.done) {
+                return;
+            }
+            upload.done = true;
+            if (upload.channel != null) {
+                try {
+                    upload.channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (ok) {
+                completed++;
+                latency.record(Math.min((System.nanoTime() - upload.arrivedAt) / 1000, LatencyHistogram.MAX_VALUE));
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    private static final class Upload {
+
+        private final long arrivedAt;
+        private final byte[] statusLine = new byte[12];
+        private int statusLength;
+        private SocketChannel channel;
+        private long nextWriteAt;
+        private int sent;
+        private boolean done;
+
+        Upload(long arrivedAt) {
+            this.arrivedAt = arrivedAt;
+        }
+
+        long nextWriteAt() {
+            return nextWriteAt;
+        }
+    }
+
+    record Result(double arrivalRate, int requests, int completed, int failed, long elapsedNanos,
+                  LatencyHistogram.Snapshot latency, int peakThreads, long heapUsedMegabytes) {
+    }
+}
@@ -0,0 +1,165 @@
+package hello.springmvc.basic;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 컨트롤러별 고정 요청(workload)을 반복해서 처리량과 요청당 할당 bytes 를 재고, 기준 수치({@link PerfBaseline})와 비교한다.<br>
+ * 전체 애플리케이션(필터, 인터셉터, 컨버터 포함)을 MockMvc 로 단일 스레드에서 호출하므로 네트워크 / 톰캣 비용은 빠진다.<br>
+ * <p>
+ * 측정: 워밍업 {@value #WARMUP_OPS} 회 후 {@value #ROUNDS} 라운드 x {@value #ROUND_OPS} 회<br>
+ * - 할당: 라운드 최솟값(현재 스레드 할당 bytes), 기준보다 hello.perf.tolerance.allocation(기본 0.10) 이상 많으면 실패<br>
+ * - 처리량: 라운드 중앙값, hello.perf.throughput=true 일 때만 기준보다 hello.perf.tolerance.throughput(기본 0.20) 이상 느리면 실패
+ * (장비마다 다르므로 게이트 장비에서 기록한 경우에만 켠다)<br>
+ * 기준 수치가 없는 workload 는 실패한다. (새 workload 는 -PperfBaselineUpdate 로 기록해서 같이 커밋)<br>
+ * 실행: ./gradlew perfTest [-PperfThroughput], 기준 다시 기록: ./gradlew perfTest -PperfBaselineUpdate [-PperfThroughput]
+ */
+@SpringBootTest(properties = {
+        "logging.level.root=warn",
+        "logging.level.hello.springmvc=warn"
+})
+@AutoConfigureMockMvc
+class ControllerPerformanceTest {
+
+    private static final int WARMUP_OPS = 5_000;
+    private static final int ROUNDS = 5;
+    private static final int ROUND_OPS = 2_000;
+
+    /**
+     * 할당 비교의 절대 여유 (bytes), 요청당 수백 bytes 인 workload 에서 작은 흔들림으로 실패하지 않도록
+     */
+    private static final long ALLOCATION_SLACK = 256;
+
+    private static final String JSON = "{\"username\":\"userA\",\"age\":20}";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Path baselineFile;
+    private static boolean update;
+    private static boolean throughput;
+    private static double throughputTolerance;
+    private static double allocationTolerance;
+    private static PerfBaseline baseline;
+    private static final List<String> report = new ArrayList<>();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @BeforeAll
+    static void loadBaseline() throws Exception {
+        baselineFile = Path.of(System.getProperty("hello.perf.baseline.file", "src/perfTest/resources/perf-baseline.properties"));
+        update = Boolean.getBoolean("hello.perf.baseline.update");
+        throughput = Boolean.getBoolean("hello.perf.throughput");
+        throughputTolerance = Double.parseDouble(System.getProperty("hello.perf.tolerance.throughput", "0.20"));
+        allocationTolerance = Double.parseDouble(System.getProperty("hello.perf.tolerance.allocation", "0.10"));
+        baseline = PerfBaseline.load(baselineFile);
+    }
+
+    @AfterAll
+    static void storeBaseline() throws Exception {
+        System.out.printf("%-40s %12s %12s %10s %10s%n", "workload", "ops/s", "baseline", "B/op", "baseline");
+        report.forEach(System.out::println);
+        if (update) {
+            baseline.store(baselineFile);
+            System.out.println("기준 수치 기록: " + baselineFile.toAbsolutePath());
+        }
+    }
+
+    static Stream<Arguments> workloads() {
+        return Stream.of(
+                workload("request-body-json-v1", post("/request-body-json-v1").contentType(MediaType.APPLICATION_JSON).content(JSON)),
+                workload("request-body-json-v3", post("/request-body-json-v3").contentType(MediaType.APPLICATION_JSON).content(JSON)),
+                workload("request-body-json-v5", post("/request-body-json-v5").contentType(MediaType.APPLICATION_JSON).content(JSON)),
+                workload("request-body-string-v1", post("/request-body-string-v1").contentType(MediaType.TEXT_PLAIN).content("hello")),
+                workload("request-body-string-v4", post("/request-body-string-v4").contentType(MediaType.TEXT_PLAIN).content("hello")),
+                workload("request-param-v2", get("/request-param-v2").param("username", "userA").param("age", "20")),
+                workload("model-attribute-v1", get("/model-attribute-v1").param("username", "userA").param("age", "20")),
+                workload("headers", get("/headers").header("Cookie", "myCookie=hello").header("Accept-Language", "ko-KR")),
+                workload("headers-v2", get("/headers-v2").header("Cookie", "myCookie=hello").header("Accept-Language", "ko-KR")),
+                workload("mapping-orders", get("/mapping/users/userA/orders/100")),
+                workload("mapping-users", get("/mapping/users").accept(MediaType.APPLICATION_JSON)),
+                workload("response-body-json-v2", get("/response-body-json-v2")),
+                workload("response-view-v2", get("/response-view-v2")),
+                workload("http-message-converter-json", post("/http-message-converter-json").contentType(MediaType.APPLICATION_JSON).content(JSON))
+        );
+    }
+
+    private static Arguments workload(String name, RequestBuilder request) {
+        return Arguments.of(name, request);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("workloads")
+    void regression(String name, RequestBuilder request) throws Exception {
+        //given
+        assertThat(mvc.perform(request).andReturn().getResponse().getStatus()).as(name).isLessThan(400);
+        for (int i = 0; i < WARMUP_OPS; i++) {
+            mvc.perform(request);
+        }
+
+        //when
+        double[] opsPerSecond = new double[ROUNDS];
+        long bytesPerOp = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedStart = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUND_OPS; i++) {
+                mvc.perform(request);
+            }
+            long elapsed = System.nanoTime() - start;
+            opsPerSecond[round] = ROUND_OPS * 1e9 / elapsed;
+            bytesPerOp = Math.min(bytesPerOp, (THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedStart) / ROUND_OPS);
+        }
+        Arrays.sort(opsPerSecond);
+        double measuredOpsPerSecond = opsPerSecond[ROUNDS / 2];
+        PerfBaseline.Figures expected = baseline.get(name).orElse(null);
+        report.add(String.format("%-40s %12.1f %12s %10d %10s", name, measuredOpsPerSecond,
+                expected == null || expected.opsPerSecond() == null ? "-" : String.format("%.1f", expected.opsPerSecond()),
+                bytesPerOp, expected == null ? "-" : String.valueOf(expected.bytesPerOp())));
+
+        //then
+        if (update) {
+            //처리량을 기록하지 않는 실행이면 이전에 기록한 처리량을 그대로 둔다.
+            Double recordedOpsPerSecond = throughput ? Double.valueOf(measuredOpsPerSecond)
+                    : expected == null ? null : expected.opsPerSecond();
+            baseline.put(name, new PerfBaseline.Figures(recordedOpsPerSecond, bytesPerOp));
+            return;
+        }
+        if (expected == null) {
+            fail(name + ": 기준 수치 없음, ./gradlew perfTest -PperfBaselineUpdate 로 기록해서 커밋");
+        }
+        assertThat(bytesPerOp)
+                .as("%s 요청당 할당(bytes), 기준 %d, 허용 +%d%%", name, expected.bytesPerOp(), Math.round(allocationTolerance * 100))
+                .isLessThanOrEqualTo((long) (expected.bytesPerOp() * (1 + allocationTolerance)) + ALLOCATION_SLACK);
+        if (throughput) {
+            assertThat(expected.opsPerSecond())
+                    .as("%s 처리량 기준 없음, 게이트 장비에서 -PperfBaselineUpdate -PperfThroughput 로 기록", name)
+                    .isNotNull();
+            assertThat(measuredOpsPerSecond)
+                    .as("%s 처리량(ops/s), 기준 %.1f, 허용 -%d%%", name, expected.opsPerSecond(), Math.round(throughputTolerance * 100))
+                    .isGreaterThanOrEqualTo(expected.opsPerSecond() * (1 - throughputTolerance));
+        }
+    }
+}
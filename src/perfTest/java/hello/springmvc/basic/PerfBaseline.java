@@ -0,0 +1,77 @@
+package hello.springmvc.basic;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 엔드포인트별 기준 성능 수치 (src/perfTest/resources/perf-baseline.properties)<br>
+ * 형식: {@code <이름>.bytesPerOp=4096}, {@code <이름>.opsPerSecond=12345.6}<br>
+ * bytesPerOp 는 필수, opsPerSecond 는 장비마다 다르므로 선택 (없으면 처리량은 비교하지 않는다)<br>
+ * 저장할 때는 이름순으로 정렬해서 쓴다. (수치가 바뀐 줄만 diff 에 보이도록)
+ */
+class PerfBaseline {
+
+    private static final String HEADER = """
+            #엔드포인트별 기준 성능 수치, ./gradlew perfTest -PperfBaselineUpdate 로 다시 기록한다.
+            #bytesPerOp: 요청 1건당 할당 bytes(라운드 최솟값), 장비와 거의 무관하므로 항상 비교한다.
+            #opsPerSecond: 단일 스레드 MockMvc 처리량(측정 라운드 중앙값), 선택, -PperfThroughput 일 때만 비교 / 기록한다.
+            #처리량은 기록한 장비 기준이므로 게이트를 돌리는 장비(CI)에서 기록해야 한다.
+            """;
+
+    private final Map<String, Figures> figures = new TreeMap<>();
+
+    static PerfBaseline load(Path file) throws IOException {
+        PerfBaseline baseline = new PerfBaseline();
+        if (!Files.exists(file)) {
+            return baseline;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (key.endsWith(".bytesPerOp")) {
+                String name = key.substring(0, key.length() - ".bytesPerOp".length());
+                String opsPerSecond = properties.getProperty(name + ".opsPerSecond");
+                baseline.put(name, new Figures(opsPerSecond == null ? null : Double.valueOf(opsPerSecond),
+                        Long.parseLong(properties.getProperty(key))));
+            }
+        }
+        return baseline;
+    }
+
+    Optional<Figures> get(String name) {
+        return Optional.ofNullable(figures.get(name));
+    }
+
+    synchronized void put(String name, Figures measured) {
+        figures.put(name, measured);
+    }
+
+    synchronized void store(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        figures.forEach((name, measured) -> {
+            lines.add(name + ".bytesPerOp=" + measured.bytesPerOp());
+            if (measured.opsPerSecond() != null) {
+                lines.add(name + ".opsPerSecond=" + String.format(Locale.ROOT, "%.1f", measured.opsPerSecond()));
+            }
+        });
+        Files.writeString(file, HEADER + String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param opsPerSecond 기록하지 않았으면 null
+     */
+    record Figures(Double opsPerSecond, long bytesPerOp) {
+    }
+}
@@ -0,0 +1,99 @@
+package hello.springmvc.basic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * 생성된 HelloDataJsonCodec 과 Jackson 리플렉션(BeanSerializer / BeanDeserializer) 결과 비교<br>
+ * reflection: 스프링 부트 ObjectMapper 와 같은 설정(FAIL_ON_UNKNOWN_PROPERTIES=false), 생성된 코덱 없음
+ */
+@JsonTest
+class HelloDataJsonCodecTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ObjectMapper reflection = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void registered() throws Exception {
+        assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(HelloData.class))
+                .isInstanceOf(HelloDataJsonCodec.Serializer.class);
+    }
+
+    @Test
+    void serialize() throws Exception {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+        HelloData nullName = HelloData.builder().username(null).age(-1).build();
+        HelloData escaped = HelloData.builder().username("\"한글\"\n\\").age(Integer.MAX_VALUE).build();
+
+        //when
+        String json = objectMapper.writeValueAsString(List.of(userA, nullName, escaped));
+
+        //then
+        assertThat(objectMapper.writeValueAsString(userA)).isEqualTo("{\"username\":\"userA\",\"age\":15}");
+        assertThat(json).isEqualTo(reflection.writeValueAsString(List.of(userA, nullName, escaped)));
+    }
+
+    @Test
+    void deserialize() throws Exception {
+        //given
+        String[] bodies = {
+                "{\"username\":\"userA\",\"age\":15}",
+                "{\"age\":15,\"username\":\"userA\"}",
+                "{\"username\":null,\"age\":null}",
+                "{\"username\":\"userA\",\"age\":\"20\"}",
+                "{\"username\":\"userA\",\"unknown\":{\"nested\":[1,2,3]},\"age\":30}",
+                "{}"
+        };
+
+        for (String body : bodies) {
+            //when
+            HelloData generated = objectMapper.readValue(body, HelloData.class);
+
+            //then
+            assertThat(generated).as(body).isEqualTo(reflection.readValue(body, HelloData.class));
+        }
+        assertThat(objectMapper.readValue("[{\"username\":\"a\",\"age\":1},{\"username\":\"b\",\"age\":2}]",
+                new TypeReference<List<HelloData>>() {
+                }))
+                .extracting(HelloData::getUsername).containsExactly("a", "b");
+    }
+
+    /**
+     * 오류도 리플렉션 역직렬화와 같은 예외 타입
+     */
+    @Test
+    void deserializeError() {
+        String[] bodies = {
+                "{\"username\":\"userA\",\"age\":\"abc\"}",
+                "{\"username\":\"userA\",\"age\":2147483648}",
+                "{\"username\":[\"userA\"],\"age\":15}",
+                "[1,2]"
+        };
+
+        for (String body : bodies) {
+            //when
+            Throwable generated = catchThrowable(() -> objectMapper.readValue(body, HelloData.class));
+            Throwable expected = catchThrowable(() -> reflection.readValue(body, HelloData.class));
+
+            //then
+            assertThat(generated).as(body).isNotNull();
+            assertThat(generated).as(body).isExactlyInstanceOf(expected.getClass());
+        }
+        assertThat(catchThrowable(() -> objectMapper.readValue("{\"age\":\"abc\"}", HelloData.class)))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+}
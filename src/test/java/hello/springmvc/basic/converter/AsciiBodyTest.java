@@ -0,0 +1,82 @@
+package hello.springmvc.basic.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsciiBodyTest {
+
+    @Test
+    void sameAsStringConcat() throws Exception {
+        //given
+        String username = "userA";
+        int age = 15;
+        Integer nullAge = null;
+
+        //when
+        AsciiBody body = AsciiBody.create().append("username=").append(username).append(", age=").append(age)
+                .append(",").append(Integer.MIN_VALUE).append(",").append(Long.MAX_VALUE).append(",").append(Long.MIN_VALUE)
+                .append(",").append(-0).append(",").append(nullAge).append(",").append((String) null);
+
+        //then
+        String expected = "username=" + username + ", age=" + age
+                + "," + Integer.MIN_VALUE + "," + Long.MAX_VALUE + "," + Long.MIN_VALUE
+                + "," + -0 + "," + nullAge + "," + null;
+        assertThat(body.length()).isEqualTo(expected.length());
+        assertThat(body.isAscii()).isTrue();
+        assertThat(write(body)).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nonAscii() throws Exception {
+        //given
+        String username = "김영한 😀";
+
+        //when
+        AsciiBody body = AsciiBody.create().append("username=").append(username);
+
+        //then
+        byte[] expected = ("username=" + username).getBytes(StandardCharsets.UTF_8);
+        assertThat(body.isAscii()).isFalse();
+        assertThat(body.length()).isEqualTo(expected.length);
+        assertThat(write(body)).isEqualTo(expected);
+    }
+
+    /**
+     * 풀 버퍼(8KB)보다 긴 본문
+     */
+    @Test
+    void grow() throws Exception {
+        //given
+        String username = "u".repeat(100_000);
+
+        //when
+        AsciiBody body = AsciiBody.of(username).append(1);
+
+        //then
+        assertThat(write(body)).isEqualTo((username + 1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void writeOnce() throws Exception {
+        //given
+        AsciiBody body = AsciiBody.of("ok");
+
+        //when
+        write(body);
+
+        //then
+        assertThatThrownBy(() -> write(body)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> body.append("more")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] write(AsciiBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out, StandardCharsets.UTF_8);
+        return out.toByteArray();
+    }
+}
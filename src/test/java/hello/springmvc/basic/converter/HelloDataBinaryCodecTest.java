@@ -0,0 +1,72 @@
+package hello.springmvc.basic.converter;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HelloDataBinaryCodecTest {
+
+    @Test
+    void encode() throws Exception {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+
+        //when
+        byte[] encoded = HelloDataBinaryCodec.encode(userA);
+
+        //then
+        assertThat(encoded).containsExactly(0x06, 'u', 's', 'e', 'r', 'A', 0x1E);
+        assertThat(HelloDataBinaryCodec.decode(new ByteArrayInputStream(encoded))).isEqualTo(userA);
+    }
+
+    @Test
+    void roundTripList() throws Exception {
+        //given
+        List<HelloData> helloDataList = new ArrayList<>();
+        helloDataList.add(HelloData.builder().username(null).age(Integer.MIN_VALUE).build());
+        helloDataList.add(HelloData.builder().username("").age(Integer.MAX_VALUE).build());
+        helloDataList.add(HelloData.builder().username("한글 이름").age(-15).build());
+        //버퍼(8KB)보다 긴 username
+        helloDataList.add(HelloData.builder().username("u".repeat(100_000)).age(20).build());
+
+        //when
+        byte[] encoded = HelloDataBinaryCodec.encodeList(helloDataList);
+
+        //then
+        assertThat(HelloDataBinaryCodec.decodeList(new ByteArrayInputStream(encoded))).isEqualTo(helloDataList);
+    }
+
+    @Test
+    void malformed() {
+        //given
+        byte[] truncated = {0x06, 'u', 's'};
+        byte[] trailing = {0x01, 0x1E, 0x00};
+        byte[] hugeLength = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        //최대 길이를 선언하고 몇 바이트만 보낸 바디: 선언한 길이만큼 배열을 만들지 않고 EOF
+        int maxHeader = HelloDataBinaryCodec.MAX_STRING_BYTES + 1;
+        byte[] maxLengthShortBody = {(byte) ((maxHeader & 0x7F) | 0x80), (byte) (((maxHeader >>> 7) & 0x7F) | 0x80),
+                (byte) (maxHeader >>> 14), 'u', 's'};
+        int overHeader = maxHeader + 1;
+        byte[] overMaxLength = {(byte) ((overHeader & 0x7F) | 0x80), (byte) (((overHeader >>> 7) & 0x7F) | 0x80),
+                (byte) (overHeader >>> 14), 'u', 's'};
+
+        //then
+        assertThatThrownBy(() -> HelloDataBinaryCodec.decode(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(EOFException.class);
+        assertThatThrownBy(() -> HelloDataBinaryCodec.decode(new ByteArrayInputStream(trailing)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HelloDataBinaryCodec.decode(new ByteArrayInputStream(hugeLength)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HelloDataBinaryCodec.decode(new ByteArrayInputStream(maxLengthShortBody)))
+                .isInstanceOf(EOFException.class);
+        assertThatThrownBy(() -> HelloDataBinaryCodec.decode(new ByteArrayInputStream(overMaxLength)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
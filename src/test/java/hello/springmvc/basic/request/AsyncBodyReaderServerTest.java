@@ -0,0 +1,214 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 톰캣에서 ReadListener(non-blocking) 경로를 검증한다. (MockMvc 는 ReadListener 를 지원하지 않아 블로킹으로 읽는다)<br>
+ * 요청 스레드를 1개로 두고, 느린 chunked 클라이언트가 바디를 보내는 도중에 다른 요청이 처리되는지 본다.<br>
+ * 블로킹으로 읽었다면 하나뿐인 스레드가 바디를 기다리느라 다른 요청은 타임아웃이 난다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=1", "server.tomcat.threads.min-spare=1"})
+class AsyncBodyReaderServerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final int LIMIT = 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    @AfterEach
+    void inFlightReleased() throws Exception {
+        //AsyncListener.onComplete 는 응답을 보낸 뒤에 불리므로 잠깐 기다린다.
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        Number inFlight = inFlight();
+        while (inFlight.longValue() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            inFlight = inFlight();
+        }
+        assertThat(inFlight.longValue()).isZero();
+    }
+
+    @Test
+    void slowChunkedBodyTest() throws Exception {
+        //given
+        String[] chunks = {"hello ", "slow ", "chunked ", "body"};
+
+        try (Socket socket = openChunkedPost("/request-body-string-async")) {
+            OutputStream out = socket.getOutputStream();
+
+            //when
+            writeChunk(out, chunks[0].getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(200);
+            //바디를 기다리는 동안 하나뿐인 요청 스레드로 다른 요청을 처리할 수 있어야 한다.
+            HttpResponse<String> other = get("/internal/body-limit");
+            for (int i = 1; i < chunks.length; i++) {
+                Thread.sleep(100);
+                writeChunk(out, chunks[i].getBytes(StandardCharsets.UTF_8));
+            }
+            endChunks(out);
+            RawResponse response = readResponse(socket);
+
+            //then
+            assertThat(other.statusCode()).isEqualTo(200);
+            assertThat(((Number) objectMapper.readValue(other.body(), Map.class).get("inFlight")).longValue())
+                    .as("chunked 요청은 경로 제한(1MB)만큼 예약")
+                    .isEqualTo(LIMIT);
+            assertThat(response.status()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo(String.join("", chunks));
+        }
+    }
+
+    @Test
+    void slowChunkedBodyTooLargeTest() throws Exception {
+        //given
+        byte[] chunk = new byte[64 * 1024];
+        Arrays.fill(chunk, (byte) 'a');
+
+        try (Socket socket = openChunkedPost("/request-body-string-async")) {
+            OutputStream out = socket.getOutputStream();
+
+            //when
+            for (int sent = 0; sent < LIMIT; sent += chunk.length) {
+                writeChunk(out, chunk);
+            }
+            writeChunk(out, new byte[]{'a'});
+            endChunks(out);
+            RawResponse response = readResponse(socket);
+
+            //then
+            assertThat(response.status()).isEqualTo(413);
+            assertThat(response.header("connection")).isEqualTo("close");
+        }
+        HttpResponse<String> after = get("/hello-basic");
+        assertThat(after.statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Number inFlight() throws Exception {
+        return (Number) objectMapper.readValue(get("/internal/body-limit").body(), Map.class).get("inFlight");
+    }
+
+    private Socket openChunkedPost(String path) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout((int) TIMEOUT.toMillis());
+        OutputStream out = socket.getOutputStream();
+        out.write(("POST " + path + " HTTP/1.1\r\n" +
+                "Host: localhost:" + port + "\r\n" +
+                "Content-Type: text/plain;charset=UTF-8\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "Connection: close\r\n" +
+                "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    /**
+     * 크기 줄 + 데이터 + CRLF 를 한 번에 쓴다. (HTTP 클라이언트가 chunk 를 보내는 방식)<br>
+     * 톰캣 10.1.4 의 ChunkedInputFilter 는 non-blocking 읽기 중에 chunk 헤더가 따로 도착하면 "Invalid chunk header" 로 실패한다.
+     */
+    private static void writeChunk(OutputStream out, byte[] chunk) throws IOException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(chunk.length + 16);
+        frame.writeBytes((Integer.toHexString(chunk.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        frame.writeBytes(chunk);
+        frame.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.write(frame.toByteArray());
+        out.flush();
+    }
+
+    private static void endChunks(OutputStream out) throws IOException {
+        out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /**
+     * Connection: close 로 보냈으므로 서버가 연결을 닫을 때까지 읽는다.
+     */
+    private static RawResponse readResponse(Socket socket) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        InputStream in = socket.getInputStream();
+        in.transferTo(buffer);
+        byte[] bytes = buffer.toByteArray();
+
+        int headerEnd = indexOf(bytes, "\r\n\r\n".getBytes(StandardCharsets.US_ASCII), 0);
+        assertThat(headerEnd).as("응답 헤더").isPositive();
+        String[] lines = new String(bytes, 0, headerEnd, StandardCharsets.US_ASCII).split("\r\n");
+        int status = Integer.parseInt(lines[0].split(" ")[1]);
+        String headers = String.join("\n", Arrays.copyOfRange(lines, 1, lines.length)).toLowerCase(Locale.ROOT);
+
+        byte[] body = Arrays.copyOfRange(bytes, headerEnd + 4, bytes.length);
+        if (headers.contains("transfer-encoding: chunked")) {
+            body = dechunk(body);
+        }
+        return new RawResponse(status, headers, new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] dechunk(byte[] chunked) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int pos = 0;
+        while (true) {
+            int lineEnd = indexOf(chunked, "\r\n".getBytes(StandardCharsets.US_ASCII), pos);
+            int size = Integer.parseInt(new String(chunked, pos, lineEnd - pos, StandardCharsets.US_ASCII).trim(), 16);
+            if (size == 0) {
+                return body.toByteArray();
+            }
+            body.write(chunked, lineEnd + 2, size);
+            pos = lineEnd + 2 + size + 2;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target, int from) {
+        for (int i = from; i <= bytes.length - target.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record RawResponse(int status, String headers, String body) {
+
+        String header(String name) {
+            for (String line : headers.split("\n")) {
+                if (line.startsWith(name + ":")) {
+                    return line.substring(name.length() + 1).trim();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -7,11 +7,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(RequestBodyJsonController.class)
@@ -38,6 +43,24 @@ public class RequestBodyJsonControllerTest {
                 });
     }
 
+    @Test
+    void requestBodyJsonV11Test() throws Exception {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+        String jsonContent = new ObjectMapper().writeValueAsString(userA);
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-v11")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent));
+        //then
+        perform.andDo(print())
+                .andExpect(result -> {
+                    assertThat(result.getResponse().getContentAsString())
+                            .isEqualTo(userA.toString());
+                });
+    }
+
     @Test
     void requestBodyJsonV2Test() throws Exception {
         //given
@@ -56,6 +79,24 @@ public class RequestBodyJsonControllerTest {
                 });
     }
 
+    @Test
+    void requestBodyJsonV21Test() throws Exception {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+        String jsonContent = new ObjectMapper().writeValueAsString(userA);
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-v21")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent));
+        //then
+        perform.andDo(print())
+                .andExpect(result -> {
+                    assertThat(result.getResponse().getContentAsString())
+                            .isEqualTo(userA.toString());
+                });
+    }
+
     @Test
     void requestBodyJsonV3Test() throws Exception {
         //given
@@ -126,4 +167,56 @@ public class RequestBodyJsonControllerTest {
                             .isEqualTo(jsonContent);
                 });
     }
+
+    @Test
+    void requestBodyJsonV11LargeBodyTest() throws Exception {
+        //given
+        HelloData largeUser = HelloData.builder().username("u".repeat(64 * 1024)).age(15).build();
+        String jsonContent = new ObjectMapper().writeValueAsString(largeUser);
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-v11")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent));
+        //then
+        perform.andExpect(result -> {
+            assertThat(result.getResponse().getContentAsString())
+                    .isEqualTo(largeUser.toString());
+        });
+    }
+
+    @Test
+    void requestBodyJsonAsyncTest() throws Exception {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+        String jsonContent = new ObjectMapper().writeValueAsString(userA);
+
+        //when
+        MvcResult mvcResult = mvc.perform(post("/request-body-json-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonContent))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions perform = mvc.perform(asyncDispatch(mvcResult));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("userA"))
+                .andExpect(jsonPath("$.age").value(15));
+    }
+
+    @Test
+    void requestBodyJsonAsyncBadRequestTest() throws Exception {
+        //when
+        MvcResult mvcResult = mvc.perform(post("/request-body-json-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":"))
+                .andReturn();
+        ResultActions perform = mvc.perform(asyncDispatch(mvcResult));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
 }
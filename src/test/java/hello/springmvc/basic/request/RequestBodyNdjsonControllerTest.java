@@ -0,0 +1,88 @@
+package hello.springmvc.basic.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RequestBodyNdjsonController.class)
+public class RequestBodyNdjsonControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void requestBodyJsonBulkTest() throws Exception {
+        //given
+        String ndjsonContent = "{\"username\":\"userA\", \"age\":15}\n" +
+                "\n" +
+                "not-json\n" +
+                "{\"username\":\"userB\", \"age\":20}\r\n" +
+                "{\"username\":\"userC\", \"age\":25}";
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-bulk")
+                .param("batchSize", "2")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjsonContent));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+                    assertThat(lines).hasSize(2);
+
+                    JsonNode first = objectMapper.readTree(lines[0]);
+                    assertThat(first.get("batch").asInt()).isEqualTo(1);
+                    assertThat(first.get("count").asInt()).isEqualTo(2);
+                    assertThat(first.get("failed").asInt()).isEqualTo(1);
+                    assertThat(first.get("errors").get(0).asText()).startsWith("line 3: ");
+
+                    JsonNode second = objectMapper.readTree(lines[1]);
+                    assertThat(second.get("batch").asInt()).isEqualTo(2);
+                    assertThat(second.get("count").asInt()).isEqualTo(2);
+                    assertThat(second.get("failed").asInt()).isEqualTo(0);
+                });
+    }
+
+    @Test
+    void requestBodyJsonBulkEmptyTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(""));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(result -> {
+                    JsonNode batch = objectMapper.readTree(result.getResponse().getContentAsString());
+                    assertThat(batch.get("count").asInt()).isEqualTo(0);
+                });
+    }
+
+    @Test
+    void requestBodyJsonBulkBadBatchSizeTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-json-bulk")
+                .param("batchSize", "0")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"username\":\"userA\", \"age\":15}"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -5,11 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RequestBodyStringController.class)
@@ -167,4 +172,71 @@ public class RequestBodyStringControllerTest {
         perform.andDo(print())
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void requestBodyStringV5Test() throws Exception {
+        //given
+        String jsonContent = "{\"username\":\"userA\", \"age\":\"15\"}";
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-string-v5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent)
+        );
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo(jsonContent))
+                .andExpect(result -> assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE));
+    }
+
+    @Test
+    void requestBodyStringV5LargeBodyTest() throws Exception {
+        //given
+        String largeContent = "a".repeat(1024 * 1024);
+
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-string-v5")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(largeContent)
+        );
+
+        //then
+        perform.andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString()).isEqualTo(largeContent));
+    }
+
+    /**
+     * non-blocking 읽기: 핸들러는 DeferredResult 를 반환하고(asyncStarted), 바디를 다 읽은 뒤 응답한다.
+     */
+    @Test
+    void requestBodyStringAsyncTest() throws Exception {
+        //given
+        String content = "안녕하세요 userA ".repeat(1000);
+
+        //when
+        MvcResult mvcResult = mvc.perform(post("/request-body-string-async")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(content.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions perform = mvc.perform(asyncDispatch(mvcResult));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).isEqualTo(content));
+    }
+
+    @Test
+    void requestBodyStringAsyncTooLargeTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(post("/request-body-string-async")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("a".repeat(1024 * 1024 + 1)));
+
+        //then
+        perform.andExpect(status().isPayloadTooLarge());
+    }
 }
@@ -1,5 +1,6 @@
 package hello.springmvc.basic.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -9,10 +10,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -25,6 +28,8 @@ public class RequestHeaderControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
     void headerTest() throws Exception {
         //given
@@ -54,4 +59,62 @@ public class RequestHeaderControllerTest {
                 .andExpect(jsonPath("$.locale").value("ko"));
 
     }
+
+    @Test
+    void headersV2Test() throws Exception {
+        //given
+
+        //when
+        ResultActions perform = mvc.perform(
+                get("/headers-v2")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .accept(MediaType.ALL_VALUE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .locale(Locale.KOREAN)
+                        .header("host", "localhost:8080")
+                        .cookie(new Cookie("myCookie", "myCookie"))
+        );
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.request").value("org.springframework.mock.web.MockHttpServletRequest"))
+                .andExpect(jsonPath("$.response").value("org.springframework.mock.web.MockHttpServletResponse"))
+                .andExpect(jsonPath("$.method").value("GET"))
+                .andExpect(jsonPath("$.cookie").value("myCookie"))
+                .andExpect(jsonPath("$.host").value("localhost:8080"))
+                .andExpect(jsonPath("$.header.Content-Type").value("text/plain;charset=UTF-8"))
+                .andExpect(jsonPath("$.header.Accept").value("*/*"))
+                .andExpect(jsonPath("$.header.Accept-Language").value("ko"))
+                .andExpect(jsonPath("$.locale").value("ko"));
+    }
+
+    /**
+     * 헤더가 많은 요청 (같은 이름 여러 값 포함), /headers 와 /headers-v2 의 JSON 이 같아야 한다.
+     */
+    @Test
+    void headersV2SameAsV1Test() throws Exception {
+        //given
+        MockHttpServletRequestBuilder v1 = manyHeaders(get("/headers"));
+        MockHttpServletRequestBuilder v2 = manyHeaders(get("/headers-v2"));
+
+        //when
+        String bodyV1 = mvc.perform(v1).andReturn().getResponse().getContentAsString();
+        String bodyV2 = mvc.perform(v2).andDo(print()).andReturn().getResponse().getContentAsString();
+
+        //then
+        assertThat(objectMapper.readTree(bodyV2)).isEqualTo(objectMapper.readTree(bodyV1));
+    }
+
+    private static MockHttpServletRequestBuilder manyHeaders(MockHttpServletRequestBuilder builder) {
+        builder.header("host", "localhost:8080")
+                .header("X-Forwarded-For", "10.0.0.1", "10.0.0.2")
+                .accept(MediaType.APPLICATION_JSON)
+                .locale(Locale.KOREAN)
+                .cookie(new Cookie("myCookie", "myCookie"));
+        for (int i = 0; i < 40; i++) {
+            builder.header("X-Custom-" + i, "value-" + i);
+        }
+        return builder;
+    }
 }
@@ -3,13 +3,20 @@ package hello.springmvc.basic.request;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RequestParamController.class)
@@ -18,6 +25,9 @@ public class RequestParamControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
     @Test
     void requestParamV1GetTest() throws Exception {
         //when
@@ -62,6 +72,26 @@ public class RequestParamControllerTest {
                 .andExpect(content().string("username=userA, age=15"));
     }
 
+    /**
+     * AsciiBody 응답: String 반환과 같은 Content-Type, Content-Length, 본문 (ASCII 가 아닌 문자 포함)
+     */
+    @Test
+    void requestParamV2NonAsciiTest() throws Exception {
+        //given
+        String expected = "username=김영한, age=15";
+
+        //when
+        ResultActions perform = mvc.perform(get("/request-param-v2")
+                .param("username", "김영한")
+                .param("age", "15"));
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, expected.getBytes(StandardCharsets.UTF_8).length))
+                .andExpect(content().string(expected));
+    }
+
     @Test
     void requestParamV3GetTest() throws Exception {
         //when
@@ -227,4 +257,80 @@ public class RequestParamControllerTest {
                 .andExpect(content().string("HelloData(username=userA, age=15)"));
     }
 
+    /**
+     * hello-form.html 처럼 form 전송 (application/x-www-form-urlencoded)
+     */
+    @Test
+    void modelAttributeV1FormPostTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(post("/model-attribute-v1")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .content("username=userA&age=15"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=userA, age=15)"));
+    }
+
+    /**
+     * HelloDataArgumentResolver 가 직접 처리하지 않는 값은 스프링 바인더가 처리한다. (결과, 오류가 기존과 같음)
+     */
+    @Test
+    void modelAttributeFallbackTest() throws Exception {
+        //when
+        ResultActions performMissing = mvc.perform(get("/model-attribute-v1"));
+        ResultActions performWhitespace = mvc.perform(get("/model-attribute-v1")
+                .param("username", "userA")
+                .param("age", " 15 "));
+        ResultActions performHex = mvc.perform(get("/model-attribute-v2")
+                .param("username", "userA")
+                .param("age", "0x1F"));
+        ResultActions performSign = mvc.perform(get("/model-attribute-v2")
+                .param("username", "userA")
+                .param("age", "-15"));
+        ResultActions performMultiple = mvc.perform(get("/model-attribute-v1")
+                .param("username", "userA", "userB")
+                .param("age", "15"));
+        ResultActions performEmpty = mvc.perform(get("/model-attribute-v1")
+                .param("username", "userA")
+                .param("age", ""));
+        ResultActions performOverflow = mvc.perform(get("/model-attribute-v2")
+                .param("username", "userA")
+                .param("age", "2147483648"));
+
+        //then
+        performMissing.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=null, age=0)"));
+        performWhitespace.andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=userA, age=15)"));
+        performHex.andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=userA, age=31)"));
+        performSign.andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=userA, age=-15)"));
+        performMultiple.andExpect(status().isOk())
+                .andExpect(content().string("HelloData(username=userA,userB, age=15)"));
+        performEmpty.andExpect(status().isBadRequest());
+        performOverflow.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void helloDataArgumentResolverRegisteredTest() {
+        assertThat(handlerAdapter).isInstanceOf(HelloDataHandlerAdapter.class);
+        assertThat(handlerAdapter.getArgumentResolvers()).first().isInstanceOf(HelloDataArgumentResolver.class);
+    }
+
+    @Test
+    void parseIntTest() {
+        assertThat(HelloDataArgumentResolver.parseInt("15")).isEqualTo(15);
+        assertThat(HelloDataArgumentResolver.parseInt("+15")).isEqualTo(15);
+        assertThat(HelloDataArgumentResolver.parseInt("-2147483648")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt("2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt("2147483648")).isEqualTo(Long.MIN_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt("")).isEqualTo(Long.MIN_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt("-")).isEqualTo(Long.MIN_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt(" 15")).isEqualTo(Long.MIN_VALUE);
+        assertThat(HelloDataArgumentResolver.parseInt("abc")).isEqualTo(Long.MIN_VALUE);
+    }
 }
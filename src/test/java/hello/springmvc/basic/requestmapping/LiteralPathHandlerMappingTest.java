@@ -0,0 +1,89 @@
+package hello.springmvc.basic.requestmapping;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MappingController.class)
+public class LiteralPathHandlerMappingTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void literalPathsTest() {
+        //given
+
+        //when
+        LiteralPathHandlerMapping literalMapping = (LiteralPathHandlerMapping) handlerMapping;
+
+        //then
+        assertThat(literalMapping.getLiteralPaths())
+                .contains("/hello-basic", "/hello-go", "/mapping-get", "/mapping-param", "/mapping-header")
+                .doesNotContain("/mapping/{userId}");
+    }
+
+    @Test
+    void literalHitTest() throws Exception {
+        //given
+        long hits = literalHits();
+
+        //when
+        ResultActions perform = mvc.perform(get("/hello-go"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("helloBasic"));
+        assertThat(literalHits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void patternFallbackTest() throws Exception {
+        //given
+        long hits = literalHits();
+
+        //when
+        ResultActions perform = mvc.perform(get("/mapping/userA"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(handler().methodName("mappingPath"));
+        assertThat(literalHits()).isEqualTo(hits);
+    }
+
+    @Test
+    void conditionTest() throws Exception {
+        //given
+
+        //when
+        ResultActions performParam = mvc.perform(get("/mapping-param").param("mode", "debug"));
+        ResultActions performHeader = mvc.perform(get("/mapping-header"));
+        ResultActions performMethod = mvc.perform(post("/mapping-get"));
+        ResultActions performConsume = mvc.perform(post("/mapping-consume").contentType(MediaType.APPLICATION_XML));
+
+        //then
+        performParam.andDo(print()).andExpect(status().isBadRequest());
+        performHeader.andDo(print()).andExpect(status().isNotFound());
+        performMethod.andDo(print()).andExpect(status().isMethodNotAllowed());
+        performConsume.andDo(print()).andExpect(status().isUnsupportedMediaType());
+    }
+
+    private long literalHits() {
+        return ((LiteralPathHandlerMapping) handlerMapping).getLiteralHits();
+    }
+}
@@ -1,37 +1,42 @@
 package hello.springmvc.basic.requestmapping;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
-import java.nio.charset.StandardCharsets;
-
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MappingClassController.class)
+@Import(UserRepository.class)
 public class MappingClassControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
     void usersTest() throws Exception {
         //given
+        addUser("listUserA", 10);
+        addUser("listUserB", 20);
 
         //when
         ResultActions perform = mvc.perform(get("/mapping/users")
-                .accept(MediaType.TEXT_PLAIN)
-                .contentType(MediaType.TEXT_PLAIN)
-                .characterEncoding(StandardCharsets.UTF_8));
+                .accept(MediaType.APPLICATION_JSON));
         //then
         perform.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().string("get users"));
+                .andExpect(jsonPath("$[?(@.username == 'listUserA')].age").value(10))
+                .andExpect(jsonPath("$[?(@.username == 'listUserB')].age").value(20));
     }
 
     @Test
@@ -39,58 +44,84 @@ public class MappingClassControllerTest {
         //given
 
         //when
-        ResultActions perform = mvc.perform(post("/mapping/users")
-                .accept(MediaType.TEXT_PLAIN)
-                .contentType(MediaType.TEXT_PLAIN)
-                .characterEncoding(StandardCharsets.UTF_8));
+        ResultActions perform = addUser("addUserA", 15);
+        ResultActions performDuplicate = addUser("addUserA", 15);
+        ResultActions performBadRequest = addUser("", 15);
         //then
         perform.andDo(print())
-                .andExpect(status().isOk())
-                .andExpect(content().string("add user"));
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.username").value("addUserA"))
+                .andExpect(jsonPath("$.age").value(15));
+        performDuplicate.andExpect(status().isConflict());
+        performBadRequest.andExpect(status().isBadRequest());
     }
 
     @Test
     void findUserTest() throws Exception {
         //given
+        addUser("findUserA", 15);
 
         //when
-        ResultActions perform = mvc.perform(get("/mapping/users/user1")
-                .accept(MediaType.TEXT_PLAIN)
-                .contentType(MediaType.TEXT_PLAIN)
-                .characterEncoding(StandardCharsets.UTF_8));
+        ResultActions perform = mvc.perform(get("/mapping/users/findUserA")
+                .accept(MediaType.APPLICATION_JSON));
+        ResultActions performNotFound = mvc.perform(get("/mapping/users/unknown")
+                .accept(MediaType.APPLICATION_JSON));
         //then
         perform.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().string("find userId=user1"));
+                .andExpect(jsonPath("$.username").value("findUserA"))
+                .andExpect(jsonPath("$.age").value(15));
+        performNotFound.andExpect(status().isNotFound());
     }
 
     @Test
     void updateUserTest() throws Exception {
         //given
+        addUser("updateUserA", 15);
 
         //when
-        ResultActions perform = mvc.perform(patch("/mapping/users/user1")
-                .accept(MediaType.TEXT_PLAIN)
-                .contentType(MediaType.TEXT_PLAIN)
-                .characterEncoding(StandardCharsets.UTF_8));
+        ResultActions perform = mvc.perform(patch("/mapping/users/updateUserA")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\":30}"));
+        ResultActions performNotFound = mvc.perform(patch("/mapping/users/unknown")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"age\":30}"));
+        ResultActions performMissingAge = mvc.perform(patch("/mapping/users/updateUserA")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
         //then
         perform.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().string("update userId=user1"));
+                .andExpect(jsonPath("$.username").value("updateUserA"))
+                .andExpect(jsonPath("$.age").value(30));
+        performNotFound.andExpect(status().isNotFound());
+        performMissingAge.andExpect(status().isBadRequest());
+        mvc.perform(get("/mapping/users/updateUserA"))
+                .andExpect(jsonPath("$.age").value(30));
     }
 
     @Test
     void deleteUserTest() throws Exception {
         //given
+        addUser("deleteUserA", 15);
 
         //when
-        ResultActions perform = mvc.perform(delete("/mapping/users/user1")
-                .accept(MediaType.TEXT_PLAIN)
-                .contentType(MediaType.TEXT_PLAIN)
-                .characterEncoding(StandardCharsets.UTF_8));
+        ResultActions perform = mvc.perform(delete("/mapping/users/deleteUserA"));
+        ResultActions performNotFound = mvc.perform(delete("/mapping/users/deleteUserA"));
         //then
         perform.andDo(print())
-                .andExpect(status().isOk())
-                .andExpect(content().string("delete userId=user1"));
+                .andExpect(status().isNoContent());
+        performNotFound.andExpect(status().isNotFound());
+        mvc.perform(get("/mapping/users/deleteUserA"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions addUser(String username, int age) throws Exception {
+        HelloData helloData = HelloData.builder().username(username).age(age).build();
+        return mvc.perform(post("/mapping/users")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(helloData)));
     }
 }
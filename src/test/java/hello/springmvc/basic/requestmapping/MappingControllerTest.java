@@ -1,11 +1,13 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.cache.AcceptHeaderCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -13,19 +15,26 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
+@Import(UserRepository.class)
 public class MappingControllerTest {
     private Logger log;
 
     @Autowired
     private WebApplicationContext context;
 
+    @Autowired
+    private AcceptHeaderCache acceptHeaderCache;
+
     private MockMvc mvc;
 
     @BeforeEach
@@ -208,4 +217,49 @@ public class MappingControllerTest {
         performNotAcceptable.andDo(print())
                 .andExpect(status().isNotAcceptable());
     }
+
+    /**
+     * 같은 Accept 헤더는 한 번만 파싱한다. 파싱 결과는 매핑(produces)과 응답 컨버터 선택이 같이 쓴다.
+     */
+    @Test
+    void acceptHeaderCacheTest() throws Exception {
+        //given
+        String accept = "application/json;q=0.9, image/png";
+        mvc.perform(post("/mapping-produce").header("Accept", accept))
+                .andExpect(status().isOk());
+        long hits = (long) acceptHeaderCache.getStats().get("hits");
+        long misses = (long) acceptHeaderCache.getStats().get("misses");
+
+        //when
+        ResultActions perform = mvc.perform(post("/mapping-produce").header("Accept", accept));
+        long hitsAfter = (long) acceptHeaderCache.getStats().get("hits");
+        long missesAfter = (long) acceptHeaderCache.getStats().get("misses");
+        ResultActions performInvalid = mvc.perform(post("/mapping-produce").header("Accept", "no-slash"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk());
+        performInvalid.andDo(print())
+                .andExpect(status().isNotAcceptable());
+        assertThat(hitsAfter).isGreaterThan(hits);
+        assertThat(missesAfter).isEqualTo(misses);
+    }
+
+    /**
+     * 미디어 타입이 50개를 넘는 Accept 헤더는 정렬하지 않고 406 (500 X)
+     */
+    @Test
+    void acceptHeaderTooManyTypesTest() throws Exception {
+        //given
+        String accept = IntStream.rangeClosed(0, 50)
+                .mapToObj(i -> "application/x-type" + i)
+                .collect(Collectors.joining(", ", "", ", application/json"));
+
+        //when
+        ResultActions perform = mvc.perform(post("/mapping-produce").header("Accept", accept));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isNotAcceptable());
+    }
 }
@@ -0,0 +1,107 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepositoryTest {
+
+    private final UserRepository userRepository = new UserRepository();
+
+    @Test
+    void crud() {
+        //given
+        HelloData userA = HelloData.builder().username("userA").age(15).build();
+
+        //when
+        boolean added = userRepository.add(userA);
+        boolean duplicated = userRepository.add(userA);
+        userA.setAge(99);
+        userRepository.findById("userA").ifPresent(found -> found.setAge(99));
+        userRepository.findAll().forEach(found -> found.setAge(99));
+
+        //then
+        assertThat(added).isTrue();
+        assertThat(duplicated).isFalse();
+        assertThat(userRepository.findById("userA")).get().extracting(HelloData::getAge).isEqualTo(15);
+        assertThat(userRepository.update("userA", 20)).get().extracting(HelloData::getAge).isEqualTo(20);
+        assertThat(userRepository.update("unknown", 20)).isEmpty();
+        assertThat(userRepository.delete("userA")).isTrue();
+        assertThat(userRepository.delete("userA")).isFalse();
+        assertThat(userRepository.count()).isZero();
+    }
+
+    /**
+     * 쓰기 스레드(등록 -> 수정 -> 삭제)와 목록 조회 스레드를 동시에 돌린다.<br>
+     * 모든 쓰기가 끝난 뒤 남은 회원 수와 값이 정확해야 하고, 목록 조회는 예외 없이 진행되어야 한다.
+     */
+    @Test
+    void concurrentStress() throws Exception {
+        //given
+        int writers = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int usersPerWriter = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(writers);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < usersPerWriter; i++) {
+                        String userId = "user-" + writer + "-" + i;
+                        assertThat(userRepository.add(HelloData.builder().username(userId).age(i).build())).isTrue();
+                        assertThat(userRepository.update(userId, i + 1)).isPresent();
+                        if (i % 2 == 0) {
+                            assertThat(userRepository.delete(userId)).isTrue();
+                        }
+                    }
+                    return null;
+                } finally {
+                    // 쓰기 스레드가 실패해도 조회 스레드가 끝나도록
+                    writersDone.countDown();
+                }
+            }));
+        }
+        for (int r = 0; r < 2; r++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long listed = 0;
+                while (writersDone.getCount() > 0) {
+                    listed += userRepository.findAll().size();
+                    userRepository.findById("user-0-1");
+                }
+                return listed;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //then
+        assertThat(userRepository.count()).isEqualTo(writers * usersPerWriter / 2);
+        assertThat(userRepository.findAll())
+                .allSatisfy(user -> {
+                    int index = Integer.parseInt(user.getUsername().substring(user.getUsername().lastIndexOf('-') + 1));
+                    assertThat(index % 2).isEqualTo(1);
+                    assertThat(user.getAge()).isEqualTo(index + 1);
+                });
+    }
+}
@@ -2,6 +2,7 @@ package hello.springmvc.basic.response;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.converter.HelloDataBinaryCodec;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -10,6 +11,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,6 +38,21 @@ public class HttpMessageConverterControllerTest {
                 .andExpect(content().bytes(expectedContent));
     }
 
+    @Test
+    void convertBytesStreamTest() throws Exception {
+        //given
+        byte[] expectedContent = new ObjectMapper().writeValueAsBytes(HelloData.builder().build());
+        //when
+        ResultActions perform = mvc.perform(post("/http-message-converter-bytes-stream")
+                .content(expectedContent)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(expectedContent));
+    }
+
     @Test
     void convertStringTest() throws Exception {
         //given
@@ -65,4 +82,53 @@ public class HttpMessageConverterControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string(expectedContent));
     }
+
+    @Test
+    void convertBinaryTest() throws Exception {
+        //given
+        byte[] expectedContent = HelloDataBinaryCodec.encode(HelloData.builder().username("userA").age(15).build());
+        //when
+        ResultActions perform = mvc.perform(post("/http-message-converter-json")
+                .content(expectedContent)
+                .contentType("application/x-hello-data")
+                .accept("application/x-hello-data"));
+        ResultActions performJson = mvc.perform(post("/http-message-converter-json")
+                .content(expectedContent)
+                .contentType("application/x-hello-data")
+                .accept(MediaType.APPLICATION_JSON));
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-hello-data"))
+                .andExpect(content().bytes(expectedContent));
+        performJson.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"username\":\"userA\",\"age\":15}"));
+    }
+
+    @Test
+    void convertBinaryListTest() throws Exception {
+        //given
+        List<HelloData> helloDataList = List.of(
+                HelloData.builder().username("userA").age(15).build(),
+                HelloData.builder().username("사용자B").age(-1).build(),
+                HelloData.builder().build());
+        byte[] expectedContent = HelloDataBinaryCodec.encodeList(helloDataList);
+        //when
+        ResultActions perform = mvc.perform(post("/http-message-converter-json-list")
+                .content(new ObjectMapper().writeValueAsString(helloDataList))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/x-hello-data"));
+        ResultActions performBadRequest = mvc.perform(post("/http-message-converter-json-list")
+                .content(new byte[]{5, 1})
+                .contentType("application/x-hello-data"));
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-hello-data"))
+                .andExpect(content().bytes(expectedContent));
+        performBadRequest.andDo(print())
+                .andExpect(status().isBadRequest());
+    }
 }
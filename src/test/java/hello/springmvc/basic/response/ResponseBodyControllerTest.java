@@ -2,13 +2,17 @@ package hello.springmvc.basic.response;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.cache.ResponseCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -19,6 +23,9 @@ public class ResponseBodyControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @Test
     void responseBodyV1Test() throws Exception {
         //given
@@ -115,4 +122,55 @@ public class ResponseBodyControllerTest {
                 .andExpect(jsonPath("$.age").value("15"));
         performBadRequest.andDo(print()).andExpect(status().isBadRequest());
     }
+
+    @Test
+    void responseBodyJsonCacheTest() throws Exception {
+        //given
+        responseCache.evictAll();
+        MvcResult first = mvc.perform(get("/response-body-json-v2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        long hits = (long) responseCache.getStats().get("hits");
+
+        //when
+        ResultActions performCached = mvc.perform(get("/response-body-json-v2"));
+        ResultActions performNotModified = mvc.perform(get("/response-body-json-v2")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        ResultActions performGzipNotModified = mvc.perform(get("/response-body-json-v2")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        //then
+        assertThat(etag).as("gzip / identity 응답이 같이 쓰므로 weak ETag").startsWith("W/\"");
+        performCached.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+        performNotModified.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        performGzipNotModified.andExpect(status().isNotModified());
+        assertThat((long) responseCache.getStats().get("hits")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void responseBodyJsonCacheEvictTest() throws Exception {
+        //given
+        mvc.perform(get("/response-body-json-v1")).andExpect(status().isOk());
+        mvc.perform(get("/response-body-json-v1").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        //when
+        responseCache.evict("ResponseBodyController.responseBodyJsonV1");
+        long misses = (long) responseCache.getStats().get("misses");
+        ResultActions perform = mvc.perform(get("/response-body-json-v1"));
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("userA"))
+                .andExpect(jsonPath("$.age").value("15"));
+        assertThat((long) responseCache.getStats().get("misses")).isEqualTo(misses + 1);
+    }
 }
@@ -1,6 +1,7 @@
 package hello.springmvc.basic.response;
 
 import ch.qos.logback.core.encoder.ByteArrayUtil;
+import hello.springmvc.cache.ViewRenderCache;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ public class ResponseViewControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private ViewRenderCache viewRenderCache;
+
     @Test
     void responseViewV1Test() throws Exception {
         //given
@@ -65,4 +69,28 @@ public class ResponseViewControllerTest {
                 .andExpect(model().attribute("data", "hello"));
     }
 
+    @Test
+    void responseViewCacheTest() throws Exception {
+        //given
+        viewRenderCache.clear();
+        long hits = (long) viewRenderCache.getStats().get("hits");
+        String rendered = mvc.perform(get("/response-view-v1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //when
+        ResultActions performV2 = mvc.perform(get("/response-view-v2"));
+        ResultActions performV3 = mvc.perform(get("/response/hello"));
+        //then
+        performV2.andDo(print())
+                .andExpect(view().name("response/hello"))
+                .andExpect(content().contentTypeCompatibleWith("text/html"))
+                .andExpect(content().string(rendered));
+        performV3.andDo(print())
+                .andExpect(view().name("response/hello"))
+                .andExpect(content().string(rendered));
+        assertThat(rendered).contains("<p>hello</p>");
+        assertThat((long) viewRenderCache.getStats().get("hits")).isEqualTo(hits + 2);
+        assertThat(viewRenderCache.getStats().get("entries")).isEqualTo(1);
+    }
 }
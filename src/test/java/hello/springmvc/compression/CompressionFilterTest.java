@@ -0,0 +1,270 @@
+package hello.springmvc.compression;
+
+import hello.springmvc.basic.response.HttpMessageConverterController;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(HttpMessageConverterController.class)
+public class CompressionFilterTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void compressTest() throws Exception {
+        //given
+        String body = "{\"username\":\"userA\",\"age\":15}\n".repeat(100);
+
+        //when
+        MvcResult result = mvc.perform(post("/http-message-converter-string")
+                        .content(body)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andDo(print())
+                .andReturn();
+
+        //then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(body.length() / 10);
+        assertThat(gunzip(compressed)).isEqualTo(body);
+    }
+
+    @Test
+    void identityTest() throws Exception {
+        //given
+        String small = "{\"username\":\"userA\",\"age\":15}";
+        String large = "x".repeat(4096);
+
+        //when
+        ResultActions performSmall = mvc.perform(post("/http-message-converter-string")
+                .content(small)
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        ResultActions performNoAcceptEncoding = mvc.perform(post("/http-message-converter-string")
+                .content(large)
+                .contentType(MediaType.TEXT_PLAIN));
+        ResultActions performRejected = mvc.perform(post("/http-message-converter-string")
+                .content(large)
+                .contentType(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"));
+        ResultActions performBinary = mvc.perform(post("/http-message-converter-bytes")
+                .content(large.getBytes(StandardCharsets.UTF_8))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        //then
+        performSmall.andDo(print())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, small.length()))
+                .andExpect(content().string(small));
+        performNoAcceptEncoding.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(large));
+        performRejected.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(large));
+        performBinary.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(large.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 요청 Content-Type 을 그대로 응답에 쓰는 핸들러: 해석할 수 없는 Content-Type 은 압축하지 않고 그대로 응답 (500 X)
+     */
+    @Test
+    void invalidContentTypeTest() throws Exception {
+        //given
+        String large = "x".repeat(4096);
+
+        //when
+        ResultActions perform = mvc.perform(post("/http-message-converter-bytes-stream")
+                .content(large.getBytes(StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_TYPE, "foo")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(large.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 빌드할 때 만든 static/index.html.gz 를 그대로 응답한다. (processResources)
+     */
+    @Test
+    void preCompressedStaticTest() throws Exception {
+        //given
+        String indexHtml = StreamUtils.copyToString(new ClassPathResource("static/index.html").getInputStream(), StandardCharsets.UTF_8);
+
+        //when
+        MvcResult result = mvc.perform(get("/index.html")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andDo(print())
+                .andReturn();
+
+        //then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(indexHtml);
+    }
+
+    @Test
+    void acceptsGzipTest() {
+        assertThat(CompressionFilter.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("*")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CompressionFilter.acceptsGzip("identity")).isFalse();
+        assertThat(CompressionFilter.acceptsGzip(null)).isFalse();
+    }
+
+    /**
+     * gzip 을 시작한 뒤 reset() 하면 처음부터 다시 정한다. (gzip 헤더 / Content-Encoding 을 새로 씀)
+     */
+    @Test
+    void resetAfterGzipTest() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = wrapper(response);
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.getOutputStream().write("a".repeat(100).getBytes(StandardCharsets.US_ASCII));
+
+        //when
+        wrapper.reset();
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.getOutputStream().write("b".repeat(100).getBytes(StandardCharsets.US_ASCII));
+        wrapper.finish();
+
+        //then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo("b".repeat(100));
+    }
+
+    @Test
+    void resetBufferAfterGzipTest() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = wrapper(response);
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.getOutputStream().write("a".repeat(100).getBytes(StandardCharsets.US_ASCII));
+
+        //when
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write("b".repeat(100).getBytes(StandardCharsets.US_ASCII));
+        wrapper.finish();
+
+        //then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo("b".repeat(100));
+    }
+
+    /**
+     * gzip 을 시작한 뒤 sendError 하면 인코딩 헤더를 빼고, finish() 는 트레일러를 쓰지 않는다. 다른 헤더는 남는다.
+     */
+    @Test
+    void sendErrorAfterGzipTest() throws Exception {
+        //given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CompressingResponseWrapper wrapper = wrapper(response);
+        wrapper.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        wrapper.setHeader("X-Trace", "1");
+        wrapper.getOutputStream().write("a".repeat(100).getBytes(StandardCharsets.US_ASCII));
+
+        //when
+        wrapper.sendError(500);
+        wrapper.finish();
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeaders(HttpHeaders.VARY)).doesNotContain(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader("X-Trace")).isEqualTo("1");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    /**
+     * non-blocking 쓰기는 압축하지 않고 원래 스트림에 등록한다. gzip 을 시작한 뒤에는 등록할 수 없다.
+     */
+    @Test
+    void writeListenerTest() throws Exception {
+        //given
+        AtomicReference<WriteListener> registered = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        registered.set(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) {
+                    }
+                };
+            }
+        };
+        CompressingResponseWrapper identity = wrapper(response);
+        CompressingResponseWrapper gzip = wrapper(new MockHttpServletResponse());
+        gzip.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        gzip.getOutputStream().write("a".repeat(100).getBytes(StandardCharsets.US_ASCII));
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        //when
+        identity.getOutputStream().setWriteListener(listener);
+
+        //then
+        assertThat(registered.get()).isSameAs(listener);
+        assertThat(identity.getOutputStream().isReady()).isTrue();
+        assertThatThrownBy(() -> gzip.getOutputStream().setWriteListener(listener))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CompressingResponseWrapper wrapper(MockHttpServletResponse response) {
+        return new CompressingResponseWrapper(response, new DeflaterPool(6, 4), 16, contentType -> true, contentType -> false);
+    }
+
+    private static String gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
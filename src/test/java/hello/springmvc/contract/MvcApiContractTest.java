@@ -0,0 +1,29 @@
+package hello.springmvc.contract;
+
+import hello.springmvc.basic.request.RequestBodyJsonController;
+import hello.springmvc.basic.requestmapping.MappingClassController;
+import hello.springmvc.basic.requestmapping.MappingController;
+import hello.springmvc.basic.requestmapping.UserRepository;
+import hello.springmvc.basic.response.ResponseBodyController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+/**
+ * {@link ApiContractTest} 를 스프링 MVC 컨트롤러에 돌린다. (webflux/ 모듈 WebFluxApiContractTest 와 같은 테스트 케이스)
+ */
+@WebMvcTest(controllers = {MappingController.class, MappingClassController.class,
+        RequestBodyJsonController.class, ResponseBodyController.class})
+@Import(UserRepository.class)
+class MvcApiContractTest extends ApiContractTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Override
+    protected WebTestClient createClient() {
+        return MockMvcWebTestClient.bindTo(mvc).build();
+    }
+}
@@ -0,0 +1,39 @@
+package hello.springmvc.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * hello.metrics.allocation.enabled=true 일 때 /internal/allocation
+ */
+@WebMvcTest(controllers = InternalController.class, properties = "hello.metrics.allocation.enabled=true")
+public class InternalControllerAllocationTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void allocationTest() throws Exception {
+        //given
+        mvc.perform(get("/internal/latency"));
+        mvc.perform(get("/internal/latency"));
+
+        //when
+        ResultActions perform = mvc.perform(get("/internal/allocation"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.handlers['InternalController#latency()'].count").value(2))
+                .andExpect(jsonPath("$.handlers['InternalController#latency()'].bytesPerRequest").value(greaterThan(0)));
+    }
+}
@@ -0,0 +1,116 @@
+package hello.springmvc.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(InternalController.class)
+public class InternalControllerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void loggingTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(get("/internal/logging"));
+
+        //then
+        //기본 프로파일은 동기(CONSOLE) 로그이므로 비동기 appender 가 없다.
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().json("{}"));
+    }
+
+    @Test
+    void responseCacheTest() throws Exception {
+        //when
+        ResultActions performEvict = mvc.perform(delete("/internal/response-cache/ResponseBodyController.responseBodyJsonV1"));
+        ResultActions performEvictAll = mvc.perform(delete("/internal/response-cache"));
+        ResultActions perform = mvc.perform(get("/internal/response-cache"));
+
+        //then
+        performEvict.andExpect(status().isNoContent());
+        performEvictAll.andExpect(status().isNoContent());
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(0))
+                .andExpect(jsonPath("$.hits").isNumber());
+    }
+
+    @Test
+    void viewCacheTest() throws Exception {
+        //when
+        ResultActions performClear = mvc.perform(delete("/internal/view-cache"));
+        ResultActions perform = mvc.perform(get("/internal/view-cache"));
+
+        //then
+        performClear.andExpect(status().isNoContent());
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(0))
+                .andExpect(jsonPath("$.maxEntries").value(256));
+    }
+
+    @Test
+    void contentNegotiationTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(get("/internal/content-negotiation")
+                .header("Accept", "application/json"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(256))
+                .andExpect(jsonPath("$.misses").isNumber());
+    }
+
+    @Test
+    void latencyTest() throws Exception {
+        //given
+        mvc.perform(delete("/internal/latency"));
+        mvc.perform(get("/internal/logging"));
+        mvc.perform(get("/internal/logging"));
+
+        //when
+        ResultActions perform = mvc.perform(get("/internal/latency"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['InternalController#logging()'].count").value(2))
+                .andExpect(jsonPath("$['InternalController#logging()'].p99").isNumber())
+                .andExpect(jsonPath("$['InternalController#logging()'].errors").value(0));
+    }
+
+    @Test
+    void allocationDisabledTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(get("/internal/allocation"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false))
+                .andExpect(jsonPath("$.handlers").isEmpty());
+    }
+
+    @Test
+    void staticResourcesDisabledTest() throws Exception {
+        //when
+        ResultActions perform = mvc.perform(get("/internal/static-resources"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(false));
+    }
+}
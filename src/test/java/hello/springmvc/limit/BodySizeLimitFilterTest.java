@@ -0,0 +1,208 @@
+package hello.springmvc.limit;
+
+import hello.springmvc.basic.request.RequestBodyJsonController;
+import hello.springmvc.basic.request.RequestBodyStringController;
+import hello.springmvc.internal.InternalController;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {RequestBodyStringController.class, RequestBodyJsonController.class, InternalController.class},
+        properties = {
+                "hello.body-limit.default=1KB",
+                "hello.body-limit.routes=/request-body-string-v1:16B,/request-body-json-*:64B,/request-body-string-v5:-1"
+        })
+class BodySizeLimitFilterTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void contentLengthTest() throws Exception {
+        //when
+        ResultActions performAllowed = mvc.perform(post("/request-body-string-v1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("a".repeat(16)));
+        ResultActions performRejected = mvc.perform(post("/request-body-string-v1")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("a".repeat(17)));
+        ResultActions performJson = mvc.perform(post("/request-body-json-v1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + "u".repeat(64) + "\",\"age\":15}"));
+        ResultActions performDefault = mvc.perform(post("/request-body-string-v4")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("a".repeat(1025)));
+        ResultActions performUnlimited = mvc.perform(post("/request-body-string-v5")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("a".repeat(4096)));
+
+        //then
+        performAllowed.andExpect(status().isOk())
+                .andExpect(content().string("a".repeat(16)));
+        performRejected.andDo(print())
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(header().string(HttpHeaders.CONNECTION, "close"));
+        performJson.andExpect(status().isPayloadTooLarge());
+        performDefault.andExpect(status().isPayloadTooLarge());
+        performUnlimited.andExpect(status().isOk());
+        mvc.perform(get("/internal/body-limit"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.defaultLimit").value(1024))
+                .andExpect(jsonPath("$.rejectedByContentLength").isNumber())
+                .andExpect(jsonPath("$.routes['/request-body-string-v1'].limit").value(16))
+                .andExpect(jsonPath("$.routes['/request-body-string-v1'].rejected").isNumber());
+    }
+
+    /**
+     * Content-Length 없는(chunked) 바디는 읽는 도중에 중단, 컨트롤러가 받는 바디는 제한까지만 읽힌다.
+     */
+    @Test
+    void chunkedTest() throws Exception {
+        //given
+        BodySizeLimitFilter filter = new BodySizeLimitFilter(true, "1KB", new String[]{"/upload:16B"}, DataSize.ofBytes(0));
+        MockHttpServletRequest request = chunked("/upload", 4096);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        StringBuilder read = new StringBuilder();
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                byte[] buffer = new byte[8];
+                int n;
+                while ((n = req.getInputStream().read(buffer)) != -1) {
+                    read.append(new String(buffer, 0, n, StandardCharsets.US_ASCII));
+                }
+            }
+        }));
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(response.getHeader(HttpHeaders.CONNECTION)).isEqualTo("close");
+        assertThat(read.length()).isEqualTo(16);
+        assertThat(filter.getStats())
+                .containsEntry("rejectedWhileReading", 1L)
+                .containsEntry("rejectedBytes", 24L)
+                .containsEntry("inFlight", 0L);
+    }
+
+    @Test
+    void chunkedWithinLimitTest() throws Exception {
+        //given
+        BodySizeLimitFilter filter = new BodySizeLimitFilter(true, "1KB", new String[0], DataSize.ofBytes(0));
+        MockHttpServletRequest request = chunked("/upload", 1024);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.getWriter().write(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.US_ASCII));
+            }
+        }));
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(response.getContentAsString()).hasSize(1024);
+        assertThat(filter.getStats()).containsEntry("rejectedWhileReading", 0L);
+    }
+
+    /**
+     * 읽는 중인 바디 합계가 max-in-flight 를 넘으면 503, 앞 요청이 끝나면 다시 받는다.
+     */
+    @Test
+    void maxInFlightTest() throws Exception {
+        //given
+        BodySizeLimitFilter filter = new BodySizeLimitFilter(true, "1KB", new String[0], DataSize.ofBytes(100));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockHttpServletRequest first = withBody("/upload", 60);
+        CompletableFuture<Void> firstRequest = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(first, new MockHttpServletResponse(), (req, resp) -> {
+                    reading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        MockHttpServletResponse throttled = new MockHttpServletResponse();
+        filter.doFilter(withBody("/upload", 60), throttled, new MockFilterChain());
+        MockHttpServletResponse small = new MockHttpServletResponse();
+        filter.doFilter(withBody("/upload", 40), small, new MockFilterChain());
+        release.countDown();
+        firstRequest.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        filter.doFilter(withBody("/upload", 60), afterRelease, new MockFilterChain());
+
+        //then
+        assertThat(throttled.getStatus()).isEqualTo(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(small.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(afterRelease.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(filter.getStats())
+                .containsEntry("throttled", 1L)
+                .containsEntry("inFlight", 0L);
+    }
+
+    private static MockHttpServletRequest withBody(String uri, int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(new byte[size]);
+        return request;
+    }
+
+    /**
+     * Content-Length 없이 Transfer-Encoding: chunked 로 들어온 요청
+     */
+    private static MockHttpServletRequest chunked(String uri, int size) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        request.setContent("a".repeat(size).getBytes(StandardCharsets.US_ASCII));
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package hello.springmvc.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAsyncAppenderTest {
+
+    private LoggerContext context;
+    private RingBufferAsyncAppender appender;
+    private RecordingAppender recording;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        recording = new RecordingAppender();
+        recording.setContext(context);
+        recording.start();
+
+        appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.addAppender(recording);
+
+        logger = context.getLogger("test");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void formatOnBackgroundThread() {
+        //given
+        appender.start();
+        AtomicReference<String> formattedOn = new AtomicReference<>();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formattedOn.set(Thread.currentThread().getName());
+                return "hello";
+            }
+        };
+
+        //when
+        logger.info("data={}", argument);
+        appender.stop();
+
+        //then
+        assertThat(recording.messages).containsExactly("data=hello");
+        assertThat(recording.threadNames).containsExactly(Thread.currentThread().getName());
+        assertThat(formattedOn.get()).isEqualTo("AsyncLog-ASYNC");
+    }
+
+    @Test
+    void dropWhenFull() {
+        //given
+        appender.setBufferSize(4);
+        appender.setQueueFullPolicy(QueueFullPolicy.DROP);
+        recording.blocking = true;
+        appender.start();
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            logger.info("event={}", i);
+        }
+
+        //then
+        assertThat(appender.getDroppedCount()).isGreaterThan(0);
+        assertThat(appender.getEnqueuedCount() + appender.getDroppedCount()).isEqualTo(20);
+    }
+
+    @Test
+    void sampleOverThreshold() {
+        //given
+        appender.setBufferSize(4);
+        appender.setQueueFullPolicy(QueueFullPolicy.SAMPLE);
+        appender.setSampleThreshold(0);
+        appender.setSampleRate(2);
+        recording.blocking = true;
+        appender.start();
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            logger.info("event={}", i);
+        }
+        logger.warn("warn event");
+
+        //then
+        assertThat(appender.getSampledCount()).isEqualTo(2);
+        assertThat(appender.getEnqueuedCount() + appender.getDroppedCount()).isEqualTo(3);
+    }
+
+    static class RecordingAppender extends AppenderBase<ILoggingEvent> {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean blocking;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (blocking) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            messages.add(event.getFormattedMessage());
+            threadNames.add(event.getThreadName());
+        }
+    }
+}
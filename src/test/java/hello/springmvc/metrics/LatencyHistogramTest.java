@@ -0,0 +1,68 @@
+package hello.springmvc.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void buckets() {
+        //then
+        for (long value = 0; value <= LatencyHistogram.MAX_VALUE; value = value < 1024 ? value + 1 : value + value / 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(index).isBetween(0, LatencyHistogram.BUCKET_COUNT - 1);
+            assertThat(value).isBetween(LatencyHistogram.lowerBound(index), LatencyHistogram.upperBound(index));
+            //상대 오차 1/16 이하
+            assertThat(LatencyHistogram.upperBound(index) - LatencyHistogram.lowerBound(index))
+                    .isLessThanOrEqualTo(Math.max(0, value / 16));
+        }
+        assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void percentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        //when
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        //then
+        assertThat(snapshot.getCount()).isEqualTo(1001);
+        assertThat(snapshot.getValueAtPercentile(50)).isCloseTo(500, within(32L));
+        assertThat(snapshot.getValueAtPercentile(90)).isCloseTo(900, within(64L));
+        assertThat(snapshot.getValueAtPercentile(99)).isCloseTo(990, within(64L));
+        assertThat(snapshot.getMax()).isEqualTo(LatencyHistogram.MAX_VALUE);
+    }
+
+    @Test
+    void concurrentRecord() throws Exception {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+
+        //when
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        assertThat(histogram.snapshot().getCount()).isEqualTo(800_000);
+        histogram.reset();
+        assertThat(histogram.snapshot().getCount()).isZero();
+    }
+}
@@ -0,0 +1,211 @@
+package hello.springmvc.resource;
+
+import hello.springmvc.internal.InternalController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * hello.static-resources.mapped.enabled=true 일 때 정적 리소스 응답
+ */
+@WebMvcTest(controllers = InternalController.class, properties = "hello.static-resources.mapped.enabled=true")
+@Import(MappedResourceConfig.class)
+public class MappedResourceHandlerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void getTest() throws Exception {
+        //given
+        byte[] helloForm = read("static/basic/hello-form.html");
+
+        //when
+        ResultActions perform = mvc.perform(get("/basic/hello-form.html"));
+        ResultActions performHead = mvc.perform(head("/basic/hello-form.html"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, helloForm.length))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().bytes(helloForm));
+        performHead.andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, helloForm.length))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void notModifiedTest() throws Exception {
+        //given
+        MvcResult first = mvc.perform(get("/basic/hello-form.html")).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        //when
+        ResultActions performEtag = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        ResultActions performLastModified = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified));
+        ResultActions performChanged = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"changed\""));
+
+        //then
+        performEtag.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        performLastModified.andExpect(status().isNotModified());
+        performChanged.andExpect(status().isOk());
+    }
+
+    @Test
+    void rangeTest() throws Exception {
+        //given
+        byte[] helloForm = read("static/basic/hello-form.html");
+        int length = helloForm.length;
+        String etag = mvc.perform(get("/basic/hello-form.html")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        ResultActions perform = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, etag));
+        ResultActions performSuffix = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.RANGE, "bytes=-10"));
+        ResultActions performNotSatisfiable = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.RANGE, "bytes=" + length + "-"));
+        ResultActions performIfRangeChanged = mvc.perform(get("/basic/hello-form.html")
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "\"changed\""));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(Arrays.copyOfRange(helloForm, 0, 10)));
+        performSuffix.andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + (length - 10) + "-" + (length - 1) + "/" + length))
+                .andExpect(content().bytes(Arrays.copyOfRange(helloForm, length - 10, length)));
+        performNotSatisfiable.andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + length));
+        performIfRangeChanged.andExpect(status().isOk())
+                .andExpect(content().bytes(helloForm));
+    }
+
+    /**
+     * 빌드할 때 만든 static/index.html.gz 를 그대로 응답한다. Range 요청은 원본으로 응답
+     */
+    @Test
+    void gzipTest() throws Exception {
+        //given
+        byte[] indexHtml = read("static/index.html");
+
+        //when
+        MvcResult result = mvc.perform(get("/index.html")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andDo(print())
+                .andReturn();
+        ResultActions performRange = mvc.perform(get("/index.html")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.RANGE, "bytes=0-99"));
+
+        //then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_HTML_VALUE);
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(indexHtml);
+        performRange.andExpect(status().isPartialContent())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(Arrays.copyOfRange(indexHtml, 0, 100)));
+    }
+
+    @Test
+    void statsTest() throws Exception {
+        //given
+        mvc.perform(get("/basic/hello-form.html"));
+
+        //when
+        ResultActions perform = mvc.perform(get("/internal/static-resources"));
+
+        //then
+        perform.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.resources").value(2))
+                .andExpect(jsonPath("$.ok").value(greaterThan(0)));
+    }
+
+    /**
+     * 시작한 뒤 파일이 바뀌면 sendfile 하지 않고 읽어 둔 내용을 보낸다. (ETag, Content-Length 와 같은 내용)
+     */
+    @Test
+    void sendfileChangedFileTest(@TempDir Path dir) throws Exception {
+        //given
+        byte[] original = new byte[50 * 1024];
+        Arrays.fill(original, (byte) 'a');
+        Path file = Files.write(dir.resolve("large.txt"), original);
+        MappedResourceHandler handler = new MappedResourceHandler(Map.of("/large.txt", MappedResource.load("/large.txt", new FileSystemResource(file))));
+
+        //when
+        MockHttpServletRequest before = sendfileRequest("/large.txt");
+        handler.handleRequest(before, new MockHttpServletResponse());
+        Files.write(file, "changed".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest after = sendfileRequest("/large.txt");
+        MockHttpServletResponse afterResponse = new MockHttpServletResponse();
+        handler.handleRequest(after, afterResponse);
+
+        //then
+        assertThat(before.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(file.toFile().getAbsolutePath());
+        assertThat(after.getAttribute("org.apache.tomcat.sendfile.filename")).isNull();
+        assertThat(afterResponse.getContentLengthLong()).isEqualTo(original.length);
+        assertThat(afterResponse.getContentAsByteArray()).isEqualTo(original);
+    }
+
+    private static MockHttpServletRequest sendfileRequest(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        return request;
+    }
+
+    private static byte[] read(String path) throws Exception {
+        return StreamUtils.copyToByteArray(new ClassPathResource(path).getInputStream());
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
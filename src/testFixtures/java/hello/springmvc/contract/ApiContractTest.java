@@ -0,0 +1,322 @@
+package hello.springmvc.contract;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * MVC / WebFlux 공통 API 계약 테스트<br>
+ * MappingController, MappingClassController, RequestBodyJsonController, ResponseBodyController 의 경로, 상태 코드, 바디<br>
+ * <p>
+ * 같은 테스트 케이스를 두 구현에 돌린다. (WebTestClient 는 둘 다에 붙일 수 있다)<br>
+ * - 스프링 MVC: MockMvcWebTestClient.bindTo(mockMvc) (src/test/java MvcApiContractTest)<br>
+ * - WebFlux: @WebFluxTest 의 WebTestClient (webflux/ 모듈 WebFluxApiContractTest)<br>
+ * 서블릿 전용 기능(@CachedResponse ETag, 바디 크기 제한 필터 등)은 각 구현의 테스트에 둔다.
+ */
+public abstract class ApiContractTest {
+
+    private static final String USER_A_JSON = "{\"username\":\"userA\",\"age\":15}";
+    private static final String USER_A_STRING = "HelloData(username=userA, age=15)";
+
+    protected WebTestClient client;
+
+    protected abstract WebTestClient createClient();
+
+    @BeforeEach
+    void setUpClient() {
+        client = createClient();
+    }
+
+    @Test
+    void helloBasicTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performBasic = client.get().uri("/hello-basic").exchange();
+        WebTestClient.ResponseSpec performGo = client.get().uri("/hello-go").exchange();
+        WebTestClient.ResponseSpec performTrailingSlash = client.get().uri("/hello-basic/").exchange();
+
+        //then
+        performBasic.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("ok");
+        performGo.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+        performTrailingSlash.expectStatus().isNotFound();
+    }
+
+    @Test
+    void mappingGetTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec perform = client.get().uri("/mapping-get").exchange();
+        WebTestClient.ResponseSpec[] performNotAllowedMethods = {
+                client.method(HttpMethod.POST).uri("/mapping-get").exchange(),
+                client.method(HttpMethod.PUT).uri("/mapping-get").exchange(),
+                client.method(HttpMethod.PATCH).uri("/mapping-get").exchange(),
+                client.method(HttpMethod.DELETE).uri("/mapping-get").exchange()
+        };
+
+        //then
+        perform.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+        for (WebTestClient.ResponseSpec performNotAllowed : performNotAllowedMethods) {
+            performNotAllowed.expectStatus().isEqualTo(405);
+        }
+    }
+
+    @Test
+    void mappingPathTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performOne = client.get().uri("/mapping/kim").exchange();
+        WebTestClient.ResponseSpec performMany = client.get().uri("/mapping/users/kim/orders/123").exchange();
+        WebTestClient.ResponseSpec performBadOrderId = client.get().uri("/mapping/users/kim/orders/abc").exchange();
+
+        //then
+        performOne.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("kim");
+        performMany.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+                .expectBody(String.class).isEqualTo("kim,123");
+        performBadOrderId.expectStatus().isBadRequest();
+    }
+
+    @Test
+    void mappingConditionTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performParam = client.get().uri("/mapping-param").exchange();
+        WebTestClient.ResponseSpec performParamBadRequest = client.get().uri("/mapping-param?mode=debug").exchange();
+        WebTestClient.ResponseSpec performHeader = client.get().uri("/mapping-header").header("mode", "debug").exchange();
+        WebTestClient.ResponseSpec performHeaderNotFound = client.get().uri("/mapping-header").exchange();
+
+        //then
+        performParam.expectStatus().isOk();
+        performParamBadRequest.expectStatus().isBadRequest();
+        performHeader.expectStatus().isOk();
+        performHeaderNotFound.expectStatus().isNotFound();
+    }
+
+    @Test
+    void mappingConsumesTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performJson = client.post().uri("/mapping-consume")
+                .contentType(MediaType.APPLICATION_JSON).exchange();
+        WebTestClient.ResponseSpec performText = client.post().uri("/mapping-consume")
+                .contentType(MediaType.TEXT_PLAIN).exchange();
+        WebTestClient.ResponseSpec performXml = client.post().uri("/mapping-consume")
+                .contentType(MediaType.APPLICATION_XML).exchange();
+        WebTestClient.ResponseSpec performNoContentType = client.post().uri("/mapping-consume").exchange();
+
+        //then
+        performJson.expectStatus().isOk();
+        performText.expectStatus().isOk();
+        performXml.expectStatus().isEqualTo(415);
+        performNoContentType.expectStatus().isEqualTo(415);
+    }
+
+    @Test
+    void mappingProducesTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performJson = client.post().uri("/mapping-produce")
+                .accept(MediaType.APPLICATION_JSON).exchange();
+        WebTestClient.ResponseSpec performPng = client.post().uri("/mapping-produce")
+                .accept(MediaType.IMAGE_PNG).exchange();
+        WebTestClient.ResponseSpec performWeighted = client.post().uri("/mapping-produce")
+                .header("Accept", "application/json;q=0.9, image/png").exchange();
+        WebTestClient.ResponseSpec performHtml = client.post().uri("/mapping-produce")
+                .accept(MediaType.TEXT_HTML).exchange();
+        WebTestClient.ResponseSpec performInvalid = client.post().uri("/mapping-produce")
+                .header("Accept", "no-slash").exchange();
+
+        //then
+        performJson.expectStatus().isOk();
+        performPng.expectStatus().isOk();
+        performWeighted.expectStatus().isOk();
+        performHtml.expectStatus().isEqualTo(406);
+        performInvalid.expectStatus().isEqualTo(406);
+    }
+
+    @Test
+    void usersTest() {
+        //given
+        addUser("contractListUserA", 10).expectStatus().isCreated();
+        addUser("contractListUserB", 20).expectStatus().isCreated();
+
+        //when
+        WebTestClient.ResponseSpec perform = client.get().uri("/mapping/users")
+                .accept(MediaType.APPLICATION_JSON).exchange();
+
+        //then
+        perform.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.username == 'contractListUserA')].age").isEqualTo(10)
+                .jsonPath("$[?(@.username == 'contractListUserB')].age").isEqualTo(20);
+    }
+
+    @Test
+    void addUserTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec perform = addUser("contractAddUserA", 15);
+        WebTestClient.ResponseSpec performDuplicate = addUser("contractAddUserA", 15);
+        WebTestClient.ResponseSpec performBadRequest = addUser("", 15);
+        WebTestClient.ResponseSpec performMalformed = client.post().uri("/mapping/users")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{\"username\":").exchange();
+
+        //then
+        perform.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("contractAddUserA")
+                .jsonPath("$.age").isEqualTo(15);
+        performDuplicate.expectStatus().isEqualTo(409);
+        performBadRequest.expectStatus().isBadRequest();
+        performMalformed.expectStatus().isBadRequest();
+    }
+
+    @Test
+    void findUpdateDeleteUserTest() {
+        //given
+        addUser("contractUserA", 15).expectStatus().isCreated();
+
+        //when
+        WebTestClient.ResponseSpec performFind = client.get().uri("/mapping/users/contractUserA")
+                .accept(MediaType.APPLICATION_JSON).exchange();
+        WebTestClient.ResponseSpec performUpdate = client.patch().uri("/mapping/users/contractUserA")
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{\"age\":30}").exchange();
+        WebTestClient.ResponseSpec performUpdateNotFound = client.patch().uri("/mapping/users/unknown")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{\"age\":30}").exchange();
+        WebTestClient.ResponseSpec performUpdateMissingAge = client.patch().uri("/mapping/users/contractUserA")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{}").exchange();
+        WebTestClient.ResponseSpec performDelete = client.delete().uri("/mapping/users/contractUserA").exchange();
+        WebTestClient.ResponseSpec performDeleteNotFound = client.delete().uri("/mapping/users/contractUserA").exchange();
+        WebTestClient.ResponseSpec performFindNotFound = client.get().uri("/mapping/users/contractUserA").exchange();
+
+        //then
+        performFind.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("contractUserA")
+                .jsonPath("$.age").isEqualTo(15);
+        performUpdate.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("contractUserA")
+                .jsonPath("$.age").isEqualTo(30);
+        performUpdateNotFound.expectStatus().isNotFound();
+        performUpdateMissingAge.expectStatus().isBadRequest();
+        performDelete.expectStatus().isNoContent();
+        performDeleteNotFound.expectStatus().isNotFound();
+        performFindNotFound.expectStatus().isNotFound();
+    }
+
+    /**
+     * v1 ~ v41 은 HelloData.toString(), v5 는 받은 JSON 그대로
+     */
+    @Test
+    void requestBodyJsonTest() {
+        //given
+        String[] toStringVersions = {"v1", "v11", "v2", "v21", "v3", "v4", "v41"};
+
+        //when
+        WebTestClient.ResponseSpec[] performToString = new WebTestClient.ResponseSpec[toStringVersions.length];
+        for (int i = 0; i < toStringVersions.length; i++) {
+            performToString[i] = postJson("/request-body-json-" + toStringVersions[i], USER_A_JSON);
+        }
+        WebTestClient.ResponseSpec performV5 = postJson("/request-body-json-v5", USER_A_JSON);
+        WebTestClient.ResponseSpec performV5Malformed = postJson("/request-body-json-v5", "{\"username\":");
+        WebTestClient.ResponseSpec performV5Text = client.post().uri("/request-body-json-v5")
+                .contentType(MediaType.TEXT_PLAIN).bodyValue(USER_A_JSON).exchange();
+
+        //then
+        for (WebTestClient.ResponseSpec perform : performToString) {
+            perform.expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo(USER_A_STRING);
+        }
+        performV5.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(USER_A_JSON);
+        performV5Malformed.expectStatus().isBadRequest();
+        performV5Text.expectStatus().isEqualTo(415);
+    }
+
+    @Test
+    void responseBodyStringTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performV1 = client.get().uri("/response-body-string-v1").exchange();
+        WebTestClient.ResponseSpec performV2 = client.get().uri("/response-body-string-v2").exchange();
+        WebTestClient.ResponseSpec performV3 = client.get().uri("/response-body-string-v3").exchange();
+
+        //then
+        performV1.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+        performV2.expectStatus().isCreated()
+                .expectBody(String.class).isEqualTo("ok");
+        performV3.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("ok");
+    }
+
+    @Test
+    void responseBodyJsonTest() {
+        //given
+
+        //when
+        WebTestClient.ResponseSpec performV1 = client.get().uri("/response-body-json-v1").exchange();
+        WebTestClient.ResponseSpec performV2 = client.get().uri("/response-body-json-v2").exchange();
+
+        //then
+        performV1.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(USER_A_JSON);
+        performV2.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody(String.class).isEqualTo(USER_A_JSON);
+    }
+
+    @Test
+    void responseBodyJsonEchoTest() {
+        //given
+        String emptyUser = "{\"username\":null,\"age\":0}";
+
+        //when
+        WebTestClient.ResponseSpec performV21 = postJson("/response-body-json-v21", USER_A_JSON);
+        WebTestClient.ResponseSpec performV21BadRequest = postJson("/response-body-json-v21", emptyUser);
+        WebTestClient.ResponseSpec performV22 = postJson("/response-body-json-v22", USER_A_JSON);
+        WebTestClient.ResponseSpec performV22BadRequest = postJson("/response-body-json-v22", emptyUser);
+
+        //then
+        for (WebTestClient.ResponseSpec perform : new WebTestClient.ResponseSpec[]{performV21, performV22}) {
+            perform.expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.username").isEqualTo("userA")
+                    .jsonPath("$.age").isEqualTo(15);
+        }
+        performV21BadRequest.expectStatus().isBadRequest();
+        performV22BadRequest.expectStatus().isBadRequest();
+    }
+
+    private WebTestClient.ResponseSpec addUser(String username, int age) {
+        return postJson("/mapping/users", "{\"username\":\"" + username + "\",\"age\":" + age + "}");
+    }
+
+    private WebTestClient.ResponseSpec postJson(String uri, String json) {
+        return client.post().uri(uri)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(json)
+                .exchange();
+    }
+}
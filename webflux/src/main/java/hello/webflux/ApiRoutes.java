@@ -0,0 +1,102 @@
+package hello.webflux;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.requestmapping.UserRepository;
+import hello.webflux.basic.request.RequestBodyJsonHandler;
+import hello.webflux.basic.requestmapping.MappingClassHandler;
+import hello.webflux.basic.requestmapping.MappingHandler;
+import hello.webflux.basic.response.ResponseBodyHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import static org.springframework.web.reactive.function.server.RequestPredicates.headers;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 함수형 라우팅, 스프링 MVC 컨트롤러와 같은 경로 / 응답<br>
+ * 라우트는 위에서부터 순서대로 맞춰 보고 처음 맞는 것을 쓴다. (MVC 처럼 가장 구체적인 매핑을 고르지 않는다)<br>
+ * 그래서 GET /mapping/users 가 /mapping/{userId} 에 먼저 걸리지 않도록 회원 API 를 앞에 둔다.<br>
+ * 회원 저장소({@link UserRepository})는 hello.springmvc 패키지라 컴포넌트 스캔 대상이 아니므로 여기서 등록한다.
+ */
+@Configuration(proxyBeanMethods = false)
+@Import(UserRepository.class)
+public class ApiRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> apiRouterFunction(ObjectMapper objectMapper, UserRepository userRepository) {
+        return mappingClassRoutes(new MappingClassHandler(userRepository))
+                .and(mappingRoutes(new MappingHandler()))
+                .and(requestBodyJsonRoutes(new RequestBodyJsonHandler(objectMapper)))
+                .and(responseBodyRoutes(new ResponseBodyHandler()));
+    }
+
+    /**
+     * {@link hello.springmvc.basic.requestmapping.MappingClassController}
+     */
+    static RouterFunction<ServerResponse> mappingClassRoutes(MappingClassHandler handler) {
+        return route()
+                .GET("/mapping/users", handler::users)
+                .POST("/mapping/users", handler::addUser)
+                .GET("/mapping/users/{userId}", handler::findUser)
+                .PATCH("/mapping/users/{userId}", handler::updateUser)
+                .DELETE("/mapping/users/{userId}", handler::deleteUser)
+                .build();
+    }
+
+    /**
+     * {@link hello.springmvc.basic.requestmapping.MappingController}<br>
+     * 조건이 안 맞을 때 MVC 와 같은 상태 코드를 주려고 /mapping-get(405), /mapping-consume(415) 은 나머지 요청을 받는 라우트를 뒤에 둔다.
+     */
+    static RouterFunction<ServerResponse> mappingRoutes(MappingHandler handler) {
+        return route()
+                .route(path("/hello-basic").or(path("/hello-go")), handler::helloBasic)
+                .GET("/mapping-get", handler::mappingGetV1)
+                .route(path("/mapping-get"), handler::mappingGetNotAllowed)
+                .GET("/mapping/{userId}", handler::mappingPath)
+                .GET("/mapping/users/{userId}/orders/{orderId}", handler::mappingPathMany)
+                .GET("/mapping-param", handler::mappingParam)
+                .GET("/mapping-header", headers(headers -> "debug".equals(headers.firstHeader("mode"))), handler::mappingHeader)
+                .POST("/mapping-consume", contentType(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN), handler::mappingConsumes)
+                .POST("/mapping-consume", handler::mappingConsumesUnsupported)
+                .POST("/mapping-produce", handler::mappingProduces)
+                .build();
+    }
+
+    /**
+     * {@link hello.springmvc.basic.request.RequestBodyJsonController}
+     */
+    static RouterFunction<ServerResponse> requestBodyJsonRoutes(RequestBodyJsonHandler handler) {
+        return route()
+                .POST("/request-body-json-v1", handler::requestBodyJsonString)
+                .POST("/request-body-json-v2", handler::requestBodyJsonString)
+                .POST("/request-body-json-v11", handler::requestBodyJsonStream)
+                .POST("/request-body-json-v21", handler::requestBodyJsonStream)
+                .POST("/request-body-json-v3", handler::requestBodyJsonObject)
+                .POST("/request-body-json-v4", handler::requestBodyJsonObject)
+                .POST("/request-body-json-v41", handler::requestBodyJsonObject)
+                .POST("/request-body-json-v5", handler::requestBodyJsonV5)
+                .POST("/request-body-json-async", handler::requestBodyJsonV5)
+                .build();
+    }
+
+    /**
+     * {@link hello.springmvc.basic.response.ResponseBodyController}
+     */
+    static RouterFunction<ServerResponse> responseBodyRoutes(ResponseBodyHandler handler) {
+        return route()
+                .GET("/response-body-string-v1", handler::responseBodyString)
+                .GET("/response-body-string-v2", handler::responseBodyStringV2)
+                .GET("/response-body-string-v3", handler::responseBodyString)
+                .GET("/response-body-json-v1", handler::responseBodyJson)
+                .GET("/response-body-json-v2", handler::responseBodyJson)
+                .route(path("/response-body-json-v21"), handler::responseBodyJsonEcho)
+                .route(path("/response-body-json-v22"), handler::responseBodyJsonEcho)
+                .build();
+    }
+}
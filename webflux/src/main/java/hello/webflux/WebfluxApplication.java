@@ -0,0 +1,24 @@
+package hello.webflux;
+
+import hello.springmvc.basic.HelloDataJsonCodec;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 스프링 MVC 애플리케이션(hello.springmvc)과 같은 API 를 WebFlux(Netty, 이벤트 루프)로 제공한다.<br>
+ * 라우팅: {@link ApiRoutes} (함수형 라우팅)<br>
+ * <p>
+ * {@link HelloDataJsonCodec}: HelloData 용으로 컴파일할 때 생성된 Jackson 코덱<br>
+ * 스프링 부트 ObjectMapper 에 등록되어 WebFlux 의 Jackson2JsonDecoder / Jackson2JsonEncoder 도 리플렉션 대신 사용한다.<br>
+ * hello.springmvc 패키지는 컴포넌트 스캔 대상이 아니므로 직접 등록한다.
+ */
+@SpringBootApplication
+@Import(HelloDataJsonCodec.class)
+public class WebfluxApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(WebfluxApplication.class, args);
+	}
+
+}
@@ -0,0 +1,38 @@
+package hello.webflux.basic;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 핸들러 함수 공통 응답 / 요청 바디 처리
+ */
+public final class HandlerSupport {
+
+    /**
+     * 스프링 MVC 에서 String 을 반환할 때와 같은 Content-Type
+     */
+    public static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private HandlerSupport() {
+    }
+
+    public static Mono<ServerResponse> text(String body) {
+        return text(HttpStatus.OK, body);
+    }
+
+    public static Mono<ServerResponse> text(HttpStatus status, String body) {
+        return ServerResponse.status(status).contentType(TEXT_PLAIN_UTF8).bodyValue(body);
+    }
+
+    /**
+     * 바디가 없으면 400 (@RequestBody required = true 와 같음)
+     */
+    public static <T> Mono<T> required(Mono<T> body) {
+        return body.switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required request body is missing")));
+    }
+}
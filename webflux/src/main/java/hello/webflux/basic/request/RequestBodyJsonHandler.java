@@ -0,0 +1,99 @@
+package hello.webflux.basic.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static hello.webflux.basic.HandlerSupport.required;
+import static hello.webflux.basic.HandlerSupport.text;
+
+/**
+ * {@link hello.springmvc.basic.request.RequestBodyJsonController} 의 WebFlux 함수형 버전<br>
+ * {"username":"hello", "age":20}
+ * content-type: application/json
+ * <p>
+ * 서블릿 API(HttpServletRequest, InputStream, HttpEntity)로 나뉘던 버전들은 바디를 받는 방식 세 가지로 묶인다.<br>
+ * - v1, v2: String 으로 받아서 ObjectMapper 로 파싱<br>
+ * - v11, v21: 바디 버퍼(DataBuffer)를 모아서 String 복사 없이 바로 파싱<br>
+ * - v3, v4, v41, v5, async: bodyToMono(HelloData) -> Jackson2JsonDecoder (생성된 HelloDataJsonCodec 사용)<br>
+ * 바디를 기다리는 동안 스레드를 붙잡지 않으므로 MVC 의 async 버전(ReadListener + DeferredResult)은 v5 와 같다.<br>
+ * JSON 형식 오류는 모두 400
+ */
+@Slf4j
+public class RequestBodyJsonHandler {
+
+    private final ObjectMapper objectMapper;
+
+    public RequestBodyJsonHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * v1, v2
+     */
+    public Mono<ServerResponse> requestBodyJsonString(ServerRequest request) {
+        return required(request.bodyToMono(String.class))
+                .map(messageBody -> {
+                    log.info("messageBody={}", messageBody);
+                    try {
+                        return objectMapper.readValue(messageBody, HelloData.class);
+                    } catch (IOException e) {
+                        throw new ServerWebInputException("JSON parse error", null, e);
+                    }
+                })
+                .flatMap(this::toStringResponse);
+    }
+
+    /**
+     * v11, v21<br>
+     * 도착한 DataBuffer 들을 하나로 이어 붙이고(DataBufferUtils.join) InputStream 으로 파싱한다. 닫으면 버퍼를 풀에 돌려준다.
+     */
+    public Mono<ServerResponse> requestBodyJsonStream(ServerRequest request) {
+        return required(DataBufferUtils.join(request.body(BodyExtractors.toDataBuffers())))
+                .map(this::readHelloData)
+                .flatMap(this::toStringResponse);
+    }
+
+    /**
+     * v3, v4, v41
+     */
+    public Mono<ServerResponse> requestBodyJsonObject(ServerRequest request) {
+        return required(request.bodyToMono(HelloData.class))
+                .flatMap(this::toStringResponse);
+    }
+
+    /**
+     * v5, async: JSON 으로 받아서 JSON 으로 응답
+     */
+    public Mono<ServerResponse> requestBodyJsonV5(ServerRequest request) {
+        return required(request.bodyToMono(HelloData.class))
+                .flatMap(helloData -> {
+                    log.info(helloData.toString());
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(helloData);
+                });
+    }
+
+    private HelloData readHelloData(DataBuffer body) {
+        try (InputStream inputStream = body.asInputStream(true)) {
+            return objectMapper.readValue(inputStream, HelloData.class);
+        } catch (IOException e) {
+            throw new ServerWebInputException("JSON parse error", null, e);
+        }
+    }
+
+    private Mono<ServerResponse> toStringResponse(HelloData helloData) {
+        log.info(helloData.toString());
+        return text(helloData.toString());
+    }
+}
@@ -0,0 +1,82 @@
+package hello.webflux.basic.requestmapping;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.requestmapping.UserRepository;
+import hello.springmvc.basic.requestmapping.UserUpdateRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static hello.webflux.basic.HandlerSupport.required;
+
+/**
+ * {@link hello.springmvc.basic.requestmapping.MappingClassController} 의 WebFlux 함수형 버전 (회원 관리 API)<br>
+ * <p>
+ * 저장소는 MVC 와 같은 {@link UserRepository} (ConcurrentHashMap, 스프링 빈으로 주입)<br>
+ * 조회 / 수정이 락을 오래 잡지 않고 블로킹 I/O 가 없으므로 이벤트 루프 스레드에서 바로 호출한다.
+ */
+public class MappingClassHandler {
+
+    private final UserRepository userRepository;
+
+    public MappingClassHandler(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Mono<ServerResponse> users(ServerRequest request) {
+        return json(HttpStatus.OK, userRepository.findAll());
+    }
+
+    /**
+     * 201 CREATED, username 이 비어 있으면 400, 이미 있는 userId 이면 409
+     */
+    public Mono<ServerResponse> addUser(ServerRequest request) {
+        return required(request.bodyToMono(HelloData.class)).flatMap(helloData -> {
+            if (!StringUtils.hasText(helloData.getUsername())) {
+                return ServerResponse.badRequest().build();
+            }
+            if (!userRepository.add(helloData)) {
+                return ServerResponse.status(HttpStatus.CONFLICT).build();
+            }
+            return json(HttpStatus.CREATED, helloData);
+        });
+    }
+
+    public Mono<ServerResponse> findUser(ServerRequest request) {
+        return jsonOrNotFound(userRepository.findById(request.pathVariable("userId")));
+    }
+
+    /**
+     * age 만 수정한다. (userId 는 바꿀 수 없음) age 가 없으면 400
+     */
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        String userId = request.pathVariable("userId");
+        return required(request.bodyToMono(UserUpdateRequest.class)).flatMap(updateRequest -> {
+            if (updateRequest.getAge() == null) {
+                return ServerResponse.badRequest().build();
+            }
+            return jsonOrNotFound(userRepository.update(userId, updateRequest.getAge()));
+        });
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        if (!userRepository.delete(request.pathVariable("userId"))) {
+            return ServerResponse.notFound().build();
+        }
+        return ServerResponse.noContent().build();
+    }
+
+    private static Mono<ServerResponse> jsonOrNotFound(Optional<HelloData> user) {
+        return user.map(helloData -> json(HttpStatus.OK, helloData))
+                .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
+    private static Mono<ServerResponse> json(HttpStatus status, Object body) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
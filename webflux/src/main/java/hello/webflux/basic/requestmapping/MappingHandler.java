@@ -0,0 +1,131 @@
+package hello.webflux.basic.requestmapping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+import static hello.webflux.basic.HandlerSupport.TEXT_PLAIN_UTF8;
+import static hello.webflux.basic.HandlerSupport.text;
+
+/**
+ * {@link hello.springmvc.basic.requestmapping.MappingController} 의 WebFlux 함수형 버전<br>
+ * 애노테이션의 매핑 조건(method, params, headers, consumes, produces)은 {@link hello.webflux.ApiRoutes} 의 RequestPredicate 로 옮겼다.<br>
+ * 함수형 라우팅은 맞는 경로가 없으면 404 뿐이므로, MVC 가 405 / 415 / 406 / 400 으로 답하는 경우는 여기서 같은 예외를 던진다.
+ */
+@Slf4j
+public class MappingHandler {
+
+    private static final MediaType TEXT_ANY = new MediaType("text", "*");
+
+    public Mono<ServerResponse> helloBasic(ServerRequest request) {
+        log.info("helloBasic");
+        return text("ok");
+    }
+
+    public Mono<ServerResponse> mappingGetV1(ServerRequest request) {
+        log.info("mappingGetV1");
+        return text("ok");
+    }
+
+    /**
+     * 경로는 맞지만 GET 이 아닌 요청, 405 + Allow: GET
+     */
+    public Mono<ServerResponse> mappingGetNotAllowed(ServerRequest request) {
+        return Mono.error(new MethodNotAllowedException(request.method(), Set.of(HttpMethod.GET)));
+    }
+
+    /**
+     * /mapping/userA
+     */
+    public Mono<ServerResponse> mappingPath(ServerRequest request) {
+        String data = request.pathVariable("userId");
+        log.info("mappingPath userId={}", data);
+        return text(data);
+    }
+
+    /**
+     * /mapping/users/userA/orders/100, orderId 가 숫자가 아니면 400 (@PathVariable Long 변환 실패와 같음)
+     */
+    public Mono<ServerResponse> mappingPathMany(ServerRequest request) {
+        String userId = request.pathVariable("userId");
+        long orderId;
+        try {
+            orderId = Long.parseLong(request.pathVariable("orderId"));
+        } catch (NumberFormatException e) {
+            return Mono.error(new ServerWebInputException("Type mismatch: orderId", null, e));
+        }
+        log.info("mappingPath userId={}, orderId={}", userId, orderId);
+        return text(userId + "," + orderId);
+    }
+
+    /**
+     * params = "!mode", mode 파라미터가 있으면 400
+     */
+    public Mono<ServerResponse> mappingParam(ServerRequest request) {
+        if (request.queryParam("mode").isPresent()) {
+            return Mono.error(new ServerWebInputException("Parameter conditions \"!mode\" not met"));
+        }
+        log.info("mappingParam");
+        return text("ok");
+    }
+
+    /**
+     * headers = "mode=debug" 는 라우트 조건, 안 맞으면 404
+     */
+    public Mono<ServerResponse> mappingHeader(ServerRequest request) {
+        log.info("mappingHeader");
+        return text("ok");
+    }
+
+    /**
+     * consumes = {application/json, text/plain} 는 라우트 조건
+     */
+    public Mono<ServerResponse> mappingConsumes(ServerRequest request) {
+        log.info("mappingConsumes");
+        return text("ok");
+    }
+
+    /**
+     * Content-Type 이 없거나 application/json, text/plain 이 아닌 요청, 415
+     */
+    public Mono<ServerResponse> mappingConsumesUnsupported(ServerRequest request) {
+        return Mono.error(new UnsupportedMediaTypeStatusException(request.headers().contentType().orElse(null),
+                List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN)));
+    }
+
+    /**
+     * produces = "!text/*"<br>
+     * MVC 와 같이 Accept 가 없거나 *&#47;* 를 포함하면 허용, 아니면 text/* 와 호환되는 타입이 하나라도 있으면 406<br>
+     * 응답 Content-Type 은 text/* 가 아닌 첫 번째 구체적인 Accept 타입 (없으면 text/plain)
+     */
+    public Mono<ServerResponse> mappingProduces(ServerRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = request.headers().accept();
+        } catch (InvalidMediaTypeException e) {
+            return Mono.error(new NotAcceptableStatusException("Could not parse 'Accept' header: " + e.getMessage()));
+        }
+        boolean acceptsAll = accepted.isEmpty() || MediaType.ALL.isPresentIn(accepted);
+        if (!acceptsAll && accepted.stream().anyMatch(TEXT_ANY::isCompatibleWith)) {
+            return Mono.error(new NotAcceptableStatusException(List.of()));
+        }
+        log.info("mappingProduces");
+        MediaType contentType = accepted.stream()
+                .filter(MediaType::isConcrete)
+                .filter(type -> !TEXT_ANY.includes(type))
+                .findFirst()
+                .orElse(TEXT_PLAIN_UTF8);
+        return ServerResponse.ok().contentType(contentType).bodyValue("ok");
+    }
+}
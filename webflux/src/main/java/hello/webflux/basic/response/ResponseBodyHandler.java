@@ -0,0 +1,63 @@
+package hello.webflux.basic.response;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static hello.webflux.basic.HandlerSupport.required;
+import static hello.webflux.basic.HandlerSupport.text;
+
+/**
+ * {@link hello.springmvc.basic.response.ResponseBodyController} 의 WebFlux 함수형 버전<br>
+ * 응답 코드와 바디는 ServerResponse 로 직접 만든다. (ResponseEntity, @ResponseStatus 에 해당)<br>
+ * MVC 의 @CachedResponse(직렬화 바이트 재사용, ETag)는 서블릿 인터셉터 기능이라 옮기지 않았다.
+ */
+public class ResponseBodyHandler {
+
+    /**
+     * v1, v3
+     */
+    public Mono<ServerResponse> responseBodyString(ServerRequest request) {
+        return text("ok");
+    }
+
+    /**
+     * v2, 201 CREATED
+     */
+    public Mono<ServerResponse> responseBodyStringV2(ServerRequest request) {
+        return text(HttpStatus.CREATED, "ok");
+    }
+
+    /**
+     * json-v1, json-v2
+     */
+    public Mono<ServerResponse> responseBodyJson(ServerRequest request) {
+        HelloData helloData = HelloData.builder()
+                .username("userA")
+                .age(15)
+                .build();
+        return json(helloData);
+    }
+
+    /**
+     * json-v21, json-v22: username 이 비어 있거나 age 가 0 이면 400
+     */
+    public Mono<ServerResponse> responseBodyJsonEcho(ServerRequest request) {
+        return required(request.bodyToMono(HelloData.class)).flatMap(helloData -> {
+            boolean isEmptyRequest = !StringUtils.hasText(helloData.getUsername()) ||
+                    helloData.getAge() == 0;
+            if (isEmptyRequest) {
+                return ServerResponse.badRequest().build();
+            }
+            return json(helloData);
+        });
+    }
+
+    private static Mono<ServerResponse> json(HelloData helloData) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(helloData);
+    }
+}
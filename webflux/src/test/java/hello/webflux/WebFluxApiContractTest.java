@@ -0,0 +1,23 @@
+package hello.webflux;
+
+import hello.springmvc.contract.ApiContractTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * {@link ApiContractTest} 를 WebFlux 함수형 라우트에 돌린다. (루트 프로젝트 MvcApiContractTest 와 같은 테스트 케이스)<br>
+ * 라우트 설정은 컴포넌트 스캔 대상이 아니므로 직접 가져온다.
+ */
+@WebFluxTest
+@Import(ApiRoutes.class)
+class WebFluxApiContractTest extends ApiContractTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Override
+    protected WebTestClient createClient() {
+        return webTestClient;
+    }
+}